@@ -0,0 +1,94 @@
+package benchmark;
+
+import graph.AStarPathFinding;
+import graph.BidirectionalSearch;
+import graph.DijkstraAlgorithm;
+import graph.LandmarkHeuristic;
+import graph.RouteNetwork;
+import graph.ZeroHeuristic;
+import model.Station;
+import model.Track;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.BiFunction;
+import java.util.function.IntSupplier;
+
+/**
+ * Compares the settled stations and the latency of the one sided and the bidirectional searches on long haul
+ * routes: random pairs of stations that are further apart than 3 out of 4 connected pairs.
+ * Run from the project root so resources/stations.csv and resources/tracks.csv are found.
+ */
+public class BidirectionalSearchBenchmark {
+
+    private static final int PAIRS = 500;
+    private static final int WARMUP_ROUNDS = 3;
+
+    public static void main(String[] args) {
+        List<Station> stations = Station.convertToList(Station.readFromCSV("resources/stations.csv"));
+        List<Track> tracks = Track.readFromCSV("resources/tracks.csv");
+        RouteNetwork network = new RouteNetwork(stations, tracks);
+        List<String[]> pairs = longHaulPairs(network, new Random(42));
+
+        AStarPathFinding dijkstra = new AStarPathFinding(network);
+        dijkstra.setHeuristic(new ZeroHeuristic());
+        AStarPathFinding alt = new AStarPathFinding(network);
+        alt.useLandmarks(8);
+        BidirectionalSearch bidirectionalDijkstra = new BidirectionalSearch(network);
+        BidirectionalSearch bidirectionalAlt = new BidirectionalSearch(network);
+        bidirectionalAlt.setHeuristic(alt.getHeuristic());
+
+        System.out.println(pairs.size() + " long haul pairs");
+        run("A* without heuristic (Dijkstra)", pairs, dijkstra::findPath, dijkstra::getExpandedNodeCount);
+        run("A* with 8 landmarks", pairs, alt::findPath, alt::getExpandedNodeCount);
+        run("Bidirectional Dijkstra", pairs, bidirectionalDijkstra::findPath, bidirectionalDijkstra::getSettledNodeCount);
+        run("Bidirectional A* with 8 landmarks", pairs, bidirectionalAlt::findPath, bidirectionalAlt::getSettledNodeCount);
+    }
+
+    private static void run(String name, List<String[]> pairs, BiFunction<String, String, List<Station>> search,
+                            IntSupplier settled) {
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            for (String[] pair : pairs) {
+                search.apply(pair[0], pair[1]);
+            }
+        }
+        long settledTotal = 0;
+        long start = System.nanoTime();
+        for (String[] pair : pairs) {
+            search.apply(pair[0], pair[1]);
+            settledTotal += settled.getAsInt();
+        }
+        long elapsed = System.nanoTime() - start;
+        System.out.printf("%-36s settled %8.1f   latency %8.1f us%n", name,
+                (double) settledTotal / pairs.size(), elapsed / 1000.0 / pairs.size());
+    }
+
+    // Connected pairs whose track distance is above the 75th percentile of the sampled connected pairs
+    static List<String[]> longHaulPairs(RouteNetwork network, Random random) {
+        int count = network.getStationCount();
+        List<int[]> candidates = new ArrayList<>();
+        List<Double> distances = new ArrayList<>();
+        while (candidates.size() < PAIRS * 4) {
+            int from = random.nextInt(count);
+            int to = random.nextInt(count);
+            double distance = DijkstraAlgorithm.distancesFrom(network.getGraph(), from)[to];
+            if (from != to && distance != Double.POSITIVE_INFINITY) {
+                candidates.add(new int[]{from, to});
+                distances.add(distance);
+            }
+        }
+        List<Double> sorted = new ArrayList<>(distances);
+        sorted.sort(null);
+        double threshold = sorted.get(sorted.size() * 3 / 4);
+
+        List<String[]> pairs = new ArrayList<>();
+        for (int i = 0; i < candidates.size(); i++) {
+            if (distances.get(i) >= threshold) {
+                pairs.add(new String[]{network.getGraph().vertexAt(candidates.get(i)[0]).getCode(),
+                        network.getGraph().vertexAt(candidates.get(i)[1]).getCode()});
+            }
+        }
+        return pairs;
+    }
+}
@@ -0,0 +1,149 @@
+package benchmark;
+
+import graph.AbstractWeightedGraph;
+import graph.RouteNetwork;
+import heap.IndexedMinHeap;
+import model.Station;
+import model.Track;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Compares the priority queues of the searches on the real network: a full Dijkstra from every station with
+ *  - a PriorityQueue of nodes that is updated with remove and add (how A* used to decrease a key),
+ *  - a PriorityQueue of vertex ids with duplicate entries (how Dijkstra used to add improved stations),
+ *  - the IndexedMinHeap with decreaseKey.
+ * JMH is not available in this project, so this measures with System.nanoTime after a few warm-up rounds.
+ * Run from the project root so resources/stations.csv and resources/tracks.csv are found.
+ */
+public class HeapBenchmark {
+
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int ROUNDS = 10;
+
+    private static final class Node {
+        final int index;
+        double g = Double.POSITIVE_INFINITY;
+
+        Node(int index) {
+            this.index = index;
+        }
+    }
+
+    public static void main(String[] args) {
+        List<Station> stations = Station.convertToList(Station.readFromCSV("resources/stations.csv"));
+        List<Track> tracks = Track.readFromCSV("resources/tracks.csv");
+        RouteNetwork network = new RouteNetwork(stations, tracks);
+
+        double expected = run("PriorityQueue with remove", network, HeapBenchmark::removeAndAdd);
+        check(expected, run("PriorityQueue with duplicates", network, HeapBenchmark::duplicates));
+        check(expected, run("IndexedMinHeap", network, HeapBenchmark::indexed));
+    }
+
+    private interface Search {
+        double distanceSum(AbstractWeightedGraph<Station> graph, int stationCount, int source);
+    }
+
+    // Runs a search from every station and prints the average time of one search
+    private static double run(String name, RouteNetwork network, Search search) {
+        AbstractWeightedGraph<Station> graph = network.getGraph();
+        int stationCount = network.getStationCount();
+        double checksum = 0;
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            for (int source = 0; source < stationCount; source++) {
+                search.distanceSum(graph, stationCount, source);
+            }
+        }
+        long start = System.nanoTime();
+        for (int round = 0; round < ROUNDS; round++) {
+            checksum = 0;
+            for (int source = 0; source < stationCount; source++) {
+                checksum += search.distanceSum(graph, stationCount, source);
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        System.out.printf("%-30s %8.1f us per search%n", name, elapsed / 1000.0 / ROUNDS / stationCount);
+        return checksum;
+    }
+
+    private static void check(double expected, double actual) {
+        if (Math.abs(expected - actual) > 1e-6 * Math.abs(expected)) {
+            throw new IllegalStateException("The searches found different distances: " + expected + " and " + actual);
+        }
+    }
+
+    private static double removeAndAdd(AbstractWeightedGraph<Station> graph, int stationCount, int source) {
+        Node[] nodes = new Node[stationCount];
+        for (int i = 0; i < nodes.length; i++) {
+            nodes[i] = new Node(i);
+        }
+        boolean[] closed = new boolean[nodes.length];
+        PriorityQueue<Node> queue = new PriorityQueue<>(Comparator.comparingDouble(n -> n.g));
+        nodes[source].g = 0;
+        queue.add(nodes[source]);
+        while (!queue.isEmpty()) {
+            Node node = queue.poll();
+            closed[node.index] = true;
+            graph.forEachNeighbour(node.index, (target, weight) -> {
+                Node neighbour = nodes[target];
+                if (!closed[target] && node.g + weight < neighbour.g) {
+                    queue.remove(neighbour);
+                    neighbour.g = node.g + weight;
+                    queue.add(neighbour);
+                }
+            });
+        }
+        double sum = 0;
+        for (Node node : nodes) {
+            sum += node.g == Double.POSITIVE_INFINITY ? 0 : node.g;
+        }
+        return sum;
+    }
+
+    private static double duplicates(AbstractWeightedGraph<Station> graph, int stationCount, int source) {
+        double[] distances = new double[stationCount];
+        Arrays.fill(distances, Double.POSITIVE_INFINITY);
+        PriorityQueue<Integer> queue = new PriorityQueue<>(Comparator.comparingDouble(v -> distances[v]));
+        distances[source] = 0;
+        queue.add(source);
+        while (!queue.isEmpty()) {
+            int current = queue.poll();
+            graph.forEachNeighbour(current, (target, weight) -> {
+                if (distances[current] + weight < distances[target]) {
+                    distances[target] = distances[current] + weight;
+                    queue.add(target);
+                }
+            });
+        }
+        return sum(distances);
+    }
+
+    private static double indexed(AbstractWeightedGraph<Station> graph, int stationCount, int source) {
+        double[] distances = new double[stationCount];
+        Arrays.fill(distances, Double.POSITIVE_INFINITY);
+        IndexedMinHeap heap = new IndexedMinHeap(distances.length);
+        distances[source] = 0;
+        heap.insert(source, 0);
+        while (!heap.isEmpty()) {
+            int current = heap.pop();
+            graph.forEachNeighbour(current, (target, weight) -> {
+                if (distances[current] + weight < distances[target]) {
+                    distances[target] = distances[current] + weight;
+                    heap.insertOrDecrease(target, distances[target]);
+                }
+            });
+        }
+        return sum(distances);
+    }
+
+    private static double sum(double[] distances) {
+        double sum = 0;
+        for (double distance : distances) {
+            sum += distance == Double.POSITIVE_INFINITY ? 0 : distance;
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,174 @@
+package benchmark;
+
+import graph.AbstractWeightedGraph;
+import graph.KShortestPaths;
+import graph.RouteNetwork;
+import heap.IndexedMinHeap;
+import model.Station;
+import model.Track;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Latency of k = 5 and k = 10 alternative routes on long haul pairs (see BidirectionalSearchBenchmark) for
+ *  - plain Yen: a full Dijkstra for every spur on the masked graph, nothing is shared between the spurs,
+ *  - KShortestPaths: one tree towards the goal per query, spur searches that stop on the tree and Lawler's
+ *    deviation index.
+ * Both only mask stations and tracks, so the difference is the reuse and not copying the graph.
+ * Run from the project root so resources/stations.csv and resources/tracks.csv are found.
+ */
+public class KShortestPathsBenchmark {
+
+    private static final int WARMUP_ROUNDS = 3;
+
+    public static void main(String[] args) {
+        List<Station> stations = Station.convertToList(Station.readFromCSV("resources/stations.csv"));
+        List<Track> tracks = Track.readFromCSV("resources/tracks.csv");
+        RouteNetwork network = new RouteNetwork(stations, tracks);
+        List<String[]> pairs = BidirectionalSearchBenchmark.longHaulPairs(network, new Random(42));
+        KShortestPaths kShortestPaths = new KShortestPaths(network);
+        PlainYen plainYen = new PlainYen(network.getGraph(), network.getStationCount());
+
+        System.out.println(pairs.size() + " long haul pairs");
+        for (int k : new int[]{5, 10}) {
+            double plain = run(pairs, pair -> plainYen.lengths(network.indexOf(pair[0]), network.indexOf(pair[1]), k));
+            double shared = run(pairs, pair -> kShortestPaths.findRoutes(pair[0], pair[1], k));
+            System.out.printf("k = %-3d plain Yen %9.1f us   KShortestPaths %9.1f us   (%.1fx)%n",
+                    k, plain, shared, plain / shared);
+        }
+
+        // both have to find routes of the same lengths
+        for (String[] pair : pairs) {
+            List<Double> expected = plainYen.lengths(network.indexOf(pair[0]), network.indexOf(pair[1]), 10);
+            List<Double> actual = new ArrayList<>();
+            kShortestPaths.findRoutes(pair[0], pair[1], 10).forEach(route -> actual.add(route.getTotalWeight()));
+            for (int i = 0; i < expected.size(); i++) {
+                if (actual.size() != expected.size() || Math.abs(expected.get(i) - actual.get(i)) > 1e-6) {
+                    throw new IllegalStateException("Different routes for " + pair[0] + " - " + pair[1]);
+                }
+            }
+        }
+    }
+
+    // Average microseconds per pair
+    private static double run(List<String[]> pairs, Consumer<String[]> query) {
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            pairs.forEach(query);
+        }
+        long start = System.nanoTime();
+        pairs.forEach(query);
+        return (System.nanoTime() - start) / 1000.0 / pairs.size();
+    }
+
+    // Textbook Yen over masks, every spur path is a new Dijkstra from the spur station
+    private static final class PlainYen {
+        private final AbstractWeightedGraph<Station> graph;
+        private final int n;
+        private final boolean[] removed;
+        private final Set<Long> blocked = new HashSet<>();
+        private final double[] distances;
+        private final int[] parents;
+        private final IndexedMinHeap heap;
+
+        PlainYen(AbstractWeightedGraph<Station> graph, int stationCount) {
+            this.graph = graph;
+            this.n = stationCount;
+            this.removed = new boolean[n];
+            this.distances = new double[n];
+            this.parents = new int[n];
+            this.heap = new IndexedMinHeap(n);
+        }
+
+        List<Double> lengths(int source, int target, int k) {
+            List<int[]> accepted = new ArrayList<>();
+            List<Double> lengths = new ArrayList<>();
+            List<int[]> candidates = new ArrayList<>();
+            List<Double> candidateLengths = new ArrayList<>();
+            Arrays.fill(removed, false);
+            blocked.clear();
+            int[] first = dijkstra(source, target);
+            if (first == null) {
+                return lengths;
+            }
+            accepted.add(first);
+            lengths.add(distances[target]);
+            while (accepted.size() < k) {
+                int[] last = accepted.get(accepted.size() - 1);
+                double rootLength = 0;
+                for (int i = 0; i < last.length - 1; i++) {
+                    Arrays.fill(removed, false);
+                    blocked.clear();
+                    for (int j = 0; j < i; j++) {
+                        removed[last[j]] = true;
+                    }
+                    for (int[] path : accepted) {
+                        if (path.length > i + 1 && Arrays.equals(path, 0, i + 1, last, 0, i + 1)) {
+                            blocked.add((long) path[i] * n + path[i + 1]);
+                        }
+                    }
+                    int[] spur = dijkstra(last[i], target);
+                    if (spur != null) {
+                        int[] path = Arrays.copyOf(last, i + spur.length);
+                        System.arraycopy(spur, 0, path, i, spur.length);
+                        boolean known = accepted.stream().anyMatch(p -> Arrays.equals(p, path))
+                                || candidates.stream().anyMatch(p -> Arrays.equals(p, path));
+                        if (!known) {
+                            candidates.add(path);
+                            candidateLengths.add(rootLength + distances[target]);
+                        }
+                    }
+                    rootLength += graph.getWeightByIndex(last[i], last[i + 1]);
+                }
+                if (candidates.isEmpty()) {
+                    break;
+                }
+                int best = 0;
+                for (int i = 1; i < candidates.size(); i++) {
+                    if (candidateLengths.get(i) < candidateLengths.get(best)) {
+                        best = i;
+                    }
+                }
+                accepted.add(candidates.remove(best));
+                lengths.add(candidateLengths.remove(best));
+            }
+            return lengths;
+        }
+
+        private int[] dijkstra(int source, int target) {
+            Arrays.fill(distances, Double.POSITIVE_INFINITY);
+            heap.clear();
+            distances[source] = 0;
+            parents[source] = -1;
+            heap.insert(source, 0);
+            while (!heap.isEmpty()) {
+                int current = heap.pop();
+                if (current == target) {
+                    int length = 0;
+                    for (int at = target; at != -1; at = parents[at]) {
+                        length++;
+                    }
+                    int[] path = new int[length];
+                    for (int at = target; at != -1; at = parents[at]) {
+                        path[--length] = at;
+                    }
+                    return path;
+                }
+                graph.forEachNeighbour(current, (neighbour, weight) -> {
+                    if (!removed[neighbour] && !blocked.contains((long) current * n + neighbour)
+                            && distances[current] + weight < distances[neighbour]) {
+                        distances[neighbour] = distances[current] + weight;
+                        parents[neighbour] = current;
+                        heap.insertOrDecrease(neighbour, distances[neighbour]);
+                    }
+                });
+            }
+            return null;
+        }
+    }
+}
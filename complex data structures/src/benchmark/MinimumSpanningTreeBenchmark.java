@@ -0,0 +1,120 @@
+package benchmark;
+
+import graph.CompressedSparseRowGraph;
+import graph.GraphBuilder;
+import graph.MCSTBoruvka;
+import graph.MCSTKruskal;
+import graph.MCSTPrim;
+import model.Station;
+import model.Track;
+
+import heap.MinHeap;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Compares the spanning trees of MCSTPrim, MCSTKruskal and MCSTBoruvka on the full network and on the
+ * subgraphs of a few rectangles (like StationsWithinRectangle builds them), together with the MinHeap based loop
+ * MCSTPrim used before it was keyed on the edge weights. Fails when the trees have different lengths.
+ * Run from the project root so resources/stations.csv and resources/tracks.csv are found.
+ */
+public class MinimumSpanningTreeBenchmark {
+
+    private static final int WARMUP_ROUNDS = 20;
+    private static final int ROUNDS = 50;
+
+    // lat1, lon1, lat2, lon2
+    private static final double[][] RECTANGLES = {
+            {51.8, 4.0, 52.5, 5.2},  // Randstad
+            {51.3, 5.0, 52.2, 6.2},  // Brabant and Gelderland
+            {52.8, 5.5, 53.5, 7.3},  // the north
+    };
+
+    public static void main(String[] args) {
+        List<Station> stations = Station.convertToList(Station.readFromCSV("resources/stations.csv"));
+        List<Track> tracks = Track.readFromCSV("resources/tracks.csv");
+
+        run("full network", new GraphBuilder(stations, tracks).build(false), stations.size());
+        for (double[] rectangle : RECTANGLES) {
+            List<Station> within = new ArrayList<>();
+            for (Station station : stations) {
+                if (station.getGeoLat() >= rectangle[0] && station.getGeoLat() <= rectangle[2]
+                        && station.getGeoLng() >= rectangle[1] && station.getGeoLng() <= rectangle[3]) {
+                    within.add(station);
+                }
+            }
+            run(String.format("rectangle %.1f,%.1f - %.1f,%.1f", rectangle[0], rectangle[1], rectangle[2], rectangle[3]),
+                    new GraphBuilder(within, tracks).build(false), within.size());
+        }
+    }
+
+    private static void run(String name, CompressedSparseRowGraph<Station> graph, int stationCount) {
+        Station start = graph.vertexAt(0);
+        MCSTPrim prim = new MCSTPrim(graph);
+        prim.setPrintSteps(false);
+        MCSTKruskal kruskal = new MCSTKruskal(graph);
+        MCSTBoruvka boruvka = new MCSTBoruvka(graph);
+
+        double oldPrimTime = measure(() -> previousPrim(graph, start, stationCount));
+        double primTime = measure(() -> {
+            prim.prim(start);
+            return prim.calculateTotalLength();
+        });
+        double kruskalTime = measure(() -> {
+            kruskal.kruskal();
+            return kruskal.calculateTotalLength();
+        });
+        double boruvkaTime = measure(() -> {
+            boruvka.boruvka();
+            return boruvka.calculateTotalLength();
+        });
+
+        if (Math.abs(prim.calculateTotalLength() - kruskal.calculateTotalLength()) > 1e-6
+                || Math.abs(kruskal.calculateTotalLength() - boruvka.calculateTotalLength()) > 1e-6) {
+            throw new IllegalStateException("The spanning trees of " + name + " have different lengths.");
+        }
+
+        System.out.printf("%-34s %4d stations %3d parts   Prim on MinHeap %9.1f us   Prim %7.1f us   Kruskal %7.1f us   Boruvka %7.1f us (%d rounds)%n",
+                name, stationCount, kruskal.getComponentCount(), oldPrimTime, primTime, kruskalTime, boruvkaTime,
+                boruvka.getRoundCount());
+    }
+
+    // The loop MCSTPrim used before: every station in a MinHeap<Station>, which orders by station code, with the
+    // linear contains and update of MinHeap. Kept to measure the difference, its tree is not minimal
+    private static double previousPrim(CompressedSparseRowGraph<Station> graph, Station start, int stationCount) {
+        Map<Station, Double> key = new HashMap<>();
+        MinHeap<Station> queue = new MinHeap<>(Station.class, stationCount);
+        for (int v = 0; v < stationCount; v++) {
+            key.put(graph.vertexAt(v), Double.MAX_VALUE);
+            queue.push(graph.vertexAt(v));
+        }
+        key.put(start, 0.0);
+        while (!queue.isEmpty()) {
+            Station current = queue.pop();
+            for (Station neighbour : graph.getConnectedNeighbours(current)) {
+                double weight = graph.getWeight(current, neighbour);
+                if (queue.contains(neighbour) && weight < key.get(neighbour)) {
+                    key.put(neighbour, weight);
+                    queue.update(neighbour);
+                }
+            }
+        }
+        return key.size();
+    }
+
+    // Average microseconds per run
+    private static double measure(DoubleSupplier tree) {
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            tree.getAsDouble();
+        }
+        long start = System.nanoTime();
+        for (int round = 0; round < ROUNDS; round++) {
+            tree.getAsDouble();
+        }
+        return (System.nanoTime() - start) / 1000.0 / ROUNDS;
+    }
+}
@@ -0,0 +1,86 @@
+package benchmark;
+
+import model.GreatCircle;
+import model.Station;
+import trees.StationLocator;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.function.IntSupplier;
+
+/**
+ * Compares the nearest station queries of the StationLocator with sorting all stations by their distance, for
+ * all stations and for the intercity hubs only. Fails when the two give different stations.
+ * Run from the project root so resources/stations.csv is found.
+ */
+public class NearestStationsBenchmark {
+
+    private static final int WARMUP_ROUNDS = 50;
+    private static final int ROUNDS = 20;
+    private static final int QUERIES = 200;
+    private static final int K = 5;
+    private static final String HUB = "knooppuntIntercitystation";
+
+    public static void main(String[] args) {
+        List<Station> stations = Station.convertToList(Station.readFromCSV("resources/stations.csv"));
+        StationLocator locator = new StationLocator(stations);
+
+        // coordinates spread over the Netherlands
+        Random random = new Random(25);
+        double[][] queries = new double[QUERIES][];
+        for (int i = 0; i < QUERIES; i++) {
+            queries[i] = new double[]{50.8 + random.nextDouble() * 2.6, 3.4 + random.nextDouble() * 3.6};
+        }
+
+        for (String type : new String[]{null, HUB}) {
+            for (double[] query : queries) {
+                if (!sortAll(stations, query, type).equals(locator.findNearest(query[0], query[1], K, type, null))) {
+                    throw new IllegalStateException("The nearest stations of " + query[0] + "," + query[1] + " differ.");
+                }
+            }
+            double sortTime = measure(() -> {
+                int found = 0;
+                for (double[] query : queries) {
+                    found += sortAll(stations, query, type).size();
+                }
+                return found;
+            });
+            double locatorTime = measure(() -> {
+                int found = 0;
+                for (double[] query : queries) {
+                    found += locator.findNearest(query[0], query[1], K, type, null).size();
+                }
+                return found;
+            });
+            System.out.printf("%-26s %d nearest   sorting all %8.2f us   StationLocator %6.2f us%n",
+                    type == null ? "all stations" : type, K, sortTime, locatorTime);
+        }
+    }
+
+    // The stations of the type (null for all) sorted by their distance to the coordinate, the first K of them
+    private static List<Station> sortAll(List<Station> stations, double[] query, String type) {
+        List<Station> sorted = new ArrayList<>();
+        for (Station station : stations) {
+            if (type == null || station.getType().equals(type)) {
+                sorted.add(station);
+            }
+        }
+        sorted.sort(Comparator.comparingDouble(
+                station -> GreatCircle.distance(query[0], query[1], station.getGeoLat(), station.getGeoLng())));
+        return sorted.subList(0, Math.min(K, sorted.size()));
+    }
+
+    // Average microseconds per query
+    private static double measure(IntSupplier queries) {
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            queries.getAsInt();
+        }
+        long start = System.nanoTime();
+        for (int round = 0; round < ROUNDS; round++) {
+            queries.getAsInt();
+        }
+        return (System.nanoTime() - start) / 1000.0 / ROUNDS / QUERIES;
+    }
+}
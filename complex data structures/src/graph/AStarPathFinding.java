@@ -1,122 +1,301 @@
 package graph;
+import heap.IndexedMinHeap;
 import lists.MyList;
 import model.Station;
 import model.Track;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
 
 public class AStarPathFinding {
 
-    private WeightedMatrixGraph<Station> graph;
-    private Map<String, Station> stationMap;
-    private PriorityQueue<Node> openSet;
-    private Set<Station> closedSet;
-    private Map<Station, Node> allNodes;
-
-    protected static class Node {
-        Station station;
-        Node parent;
-        double g;
-        double h;
-        double f;
-
-        public Node(Station station) {
-            this.station = station;
-            this.g = Double.MAX_VALUE;
-            this.h = 0;
-            this.f = 0;
+    // Shared by all queries and never changed, so findPath can run on many threads at once
+    private final RouteNetwork network;
+    private final AbstractWeightedGraph<Station> graph;
+
+    // The open set and search state of one query. Idle contexts are kept in a lock free pool instead of a
+    // ThreadLocal, so thousands of short lived (virtual) threads share a handful of contexts
+    private final Queue<SearchContext> contexts = new ConcurrentLinkedQueue<>();
+
+    // The distance in degrees by default, can be replaced by any other heuristic with setHeuristic
+    private volatile Heuristic heuristic;
+    private volatile boolean checkAdmissibility;
+    private volatile int lastExpandedNodes;
+    private final SearchStatistics statistics = new SearchStatistics();
+
+    private static final Heuristic.Estimator NO_ESTIMATE = vertex -> 0;
+
+    // Set once the network is preprocessed into a contraction hierarchy, findPath then uses its query instead
+    private volatile ContractionHierarchy<Station> hierarchy;
+
+    // Everything a single query changes. A context is only used by one thread at a time and its state is stamped
+    // per query, so a query only costs the stations it touches and nothing has to be reset afterwards
+    private final class SearchContext implements IntDoubleConsumer {
+        private final SearchState state = new SearchState();
+        private final IndexedMinHeap openSet = new IndexedMinHeap(graph.getVertexCount()); // keyed by f = g + h
+
+        // Search state of the expansion that is currently running, used by accept
+        private int current;
+        private Heuristic.Estimator estimator;
+        private int expandedNodes;
+
+        // The query of the hierarchy this context was last used with
+        private ContractionHierarchy<Station> queryHierarchy;
+        private ContractionHierarchy<Station>.Query hierarchyQuery;
+
+        List<Station> findPath(int startIndex, int goalIndex, Heuristic heuristic) {
+            estimator = heuristic.forGoal(goalIndex); // everything that depends on the goal is computed once here
+            expandedNodes = 0;
+            state.start(graph.getVertexCount());
+            openSet.clear(); // only holds what the last query left behind when it reached its goal
+
+            state.update(startIndex, 0, -1);
+            openSet.insert(startIndex, estimator.estimate(startIndex));
+
+            while (!openSet.isEmpty()) {
+                int node = openSet.pop();
+                if (node == goalIndex) {
+                    return reconstructPath(node);
+                }
+                state.close(node);
+                expandedNodes++;
+
+                current = node;
+                graph.forEachNeighbour(node, this);
+            }
+            return null; // Path not found
         }
 
-        public String getCode() {
-            return station.getCode();
+        // One to many search without a heuristic. Fills row[j] with the distance from the source to targets[j]
+        // (positive infinity when it cannot be reached) and stops as soon as every target is settled
+        void distancesTo(int source, int[] targets, boolean[] isTarget, int distinctTargets, double[] row) {
+            estimator = NO_ESTIMATE;
+            state.start(graph.getVertexCount());
+            openSet.clear();
+
+            state.update(source, 0, -1);
+            openSet.insert(source, 0);
+            int remaining = distinctTargets;
+
+            while (!openSet.isEmpty() && remaining > 0) {
+                int node = openSet.pop();
+                state.close(node);
+                if (isTarget[node]) {
+                    remaining--;
+                }
+                current = node;
+                graph.forEachNeighbour(node, this);
+            }
+            for (int j = 0; j < targets.length; j++) {
+                row[j] = state.distance(targets[j]);
+            }
         }
-    }
 
-    public AStarPathFinding(List<Track> tracks, List<Station> stations) {
-        graph = new WeightedMatrixGraph<>(false);
-        stationMap = new HashMap<>();
-        openSet = new PriorityQueue<>(Comparator.comparingDouble(n -> n.f));
-        closedSet = new HashSet<>();
-        allNodes = new HashMap<>();
-
-        for (Station station : stations) {
-            String code = station.getCode().trim().toLowerCase();
-            graph.addVertex(station);
-            stationMap.put(code, station);
-            allNodes.put(station, new Node(station));
+        // Relaxes the connection from current to the neighbour at the given index.
+        // A closed station is only improved when the heuristic is admissible but not consistent (the calibrated
+        // haversine heuristic near 0 km tracks), it is then reopened so the path stays the shortest one
+        @Override
+        public void accept(int neighbour, double weight) {
+            double tentativeG = state.distance(current) + weight;
+
+            if (tentativeG < state.distance(neighbour)) {
+                state.reopen(neighbour);
+                state.update(neighbour, tentativeG, current);
+                openSet.insertOrDecrease(neighbour, tentativeG + estimator.estimate(neighbour));
+            }
+        }
+
+        private List<Station> reconstructPath(int node) {
+            List<Station> path = new ArrayList<>();
+            for (int at = node; at != -1; at = state.parent(at)) {
+                path.add(graph.vertexAt(at));
+            }
+            Collections.reverse(path);
+            return path;
         }
 
-        for (Track track : tracks) {
-            Station fromStation = stationMap.get(track.getCode().trim().toLowerCase());
-            Station toStation = stationMap.get(track.getNextCode().trim().toLowerCase());
-            if (fromStation != null && toStation != null) {
-                graph.connect(fromStation, toStation, track.getDistanceTo());
+        ContractionHierarchy<Station>.Query hierarchyQuery(ContractionHierarchy<Station> current) {
+            if (queryHierarchy != current) {
+                queryHierarchy = current;
+                hierarchyQuery = current.newQuery();
             }
+            return hierarchyQuery;
         }
     }
 
+    // The graph is built in one pass by the GraphBuilder instead of adding the stations one at a time
+    public AStarPathFinding(List<Track> tracks, List<Station> stations) {
+        this(new RouteNetwork(stations, tracks));
+    }
+
+    // Runs the search on an already built graph, for example a CompressedSparseRowGraph of the whole network
+    public AStarPathFinding(AbstractWeightedGraph<Station> graph) {
+        this(new RouteNetwork(graph));
+    }
+
+    // Runs the search on a network that can be shared with other engines, for example one per heuristic
+    public AStarPathFinding(RouteNetwork network) {
+        this.network = network;
+        this.graph = network.getGraph();
+        heuristic = new DegreeHeuristic(graph);
+    }
+
+    public RouteNetwork getNetwork() {
+        return network;
+    }
+
+    // Preprocesses the network into a contraction hierarchy (in parallel). Afterwards findPath answers with the
+    // bidirectional upward search of the hierarchy, which gives the same distances but settles far fewer stations
+    public void useContractionHierarchy() {
+        useContractionHierarchy(new ContractionHierarchy<>(graph));
+    }
+
+    // Uses a hierarchy that was already built for the same graph
+    public void useContractionHierarchy(ContractionHierarchy<Station> hierarchy) {
+        this.hierarchy = hierarchy;
+    }
+
+    // Switches to the ALT heuristic with the given number of landmarks, picked with the farthest point rule
+    public void useLandmarks(int landmarkCount) {
+        useLandmarks(LandmarkHeuristic.farthest(graph, landmarkCount));
+    }
+
+    public void useLandmarks(LandmarkHeuristic landmarkHeuristic) {
+        setHeuristic(landmarkHeuristic);
+    }
+
+    // Swaps the heuristic, for example new ZeroHeuristic() or HaversineHeuristic.calibrated(graph).
+    // Queries that are already running keep the heuristic they started with
+    public void setHeuristic(Heuristic heuristic) {
+        this.heuristic = heuristic;
+    }
+
+    public Heuristic getHeuristic() {
+        return heuristic;
+    }
+
+    // Debug mode: every query first checks that the heuristic never overestimates the distance to its goal.
+    // This runs a full Dijkstra per query, so it should only be switched on while testing a heuristic
+    public void setCheckAdmissibility(boolean checkAdmissibility) {
+        this.checkAdmissibility = checkAdmissibility;
+    }
+
+    // Number of stations expanded (taken from the open set and relaxed) by the last call of findPath that
+    // finished. With concurrent queries use getStatistics instead
+    public int getExpandedNodeCount() {
+        return lastExpandedNodes;
+    }
+
+    // Counters over all queries so far, used to compare heuristics
+    public SearchStatistics getStatistics() {
+        return statistics;
+    }
+
     public double heuristic(Station current, Station goal) {
-        double dLat = goal.getGeoLat() - current.getGeoLat();
-        double dLng = goal.getGeoLng() - current.getGeoLng();
-        return Math.sqrt(dLat * dLat + dLng * dLng);
+        return DegreeHeuristic.distance(current, goal);
     }
 
+    // Safe to call from many threads at the same time, every call draws its own search context from the pool
     public List<Station> findPath(String startCode, String goalCode) {
-        startCode = startCode.trim().toLowerCase();
-        goalCode = goalCode.trim().toLowerCase();
-
-        Station startStation = stationMap.get(startCode);
-        Station goalStation = stationMap.get(goalCode);
+        Station startStation = network.findStation(startCode);
+        Station goalStation = network.findStation(goalCode);
 
         if (startStation == null || goalStation == null) {
             System.out.println("Start or goal station not found in the station map.");
             return null;
         }
 
-        Node startNode = allNodes.get(startStation);
-        startNode.g = 0;
-        startNode.h = heuristic(startStation, goalStation);
-        startNode.f = startNode.g + startNode.h;
-        openSet.add(startNode);
-
-        while (!openSet.isEmpty()) {
-            Node currentNode = openSet.poll();
-            if (currentNode.station.equals(goalStation)) {
-                return reconstructPath(currentNode);
+        SearchContext context = contexts.poll();
+        if (context == null) {
+            context = new SearchContext();
+        }
+        try {
+            ContractionHierarchy<Station> currentHierarchy = hierarchy;
+            if (currentHierarchy != null) {
+                ContractionHierarchy<Station>.Query query = context.hierarchyQuery(currentHierarchy);
+                List<Station> path = query.findPath(startStation, goalStation);
+                // the vertices settled by both directions take the place of the expanded nodes of A*
+                lastExpandedNodes = query.getLastSettledCount();
+                statistics.record(query.getLastSettledCount());
+                return path;
             }
-            closedSet.add(currentNode.station);
-
-            for (Station neighbor : graph.getConnectedNeighbours(currentNode.station)) {
-                if (closedSet.contains(neighbor)) {
-                    continue;
-                }
 
-                Node neighborNode = allNodes.get(neighbor);
-                double tentativeG = currentNode.g + graph.getWeight(currentNode.station, neighbor);
+            Heuristic currentHeuristic = heuristic;
+            int goalIndex = graph.getIndex(goalStation);
+            if (checkAdmissibility) {
+                new AdmissibilityChecker(graph).check(currentHeuristic, goalIndex);
+            }
+            List<Station> path = context.findPath(graph.getIndex(startStation), goalIndex, currentHeuristic);
+            lastExpandedNodes = context.expandedNodes;
+            statistics.record(context.expandedNodes);
+            return path;
+        } finally {
+            contexts.offer(context);
+        }
+    }
 
-                if (tentativeG < neighborNode.g) {
-                    neighborNode.parent = currentNode;
-                    neighborNode.g = tentativeG;
-                    neighborNode.h = heuristic(neighbor, goalStation);
-                    neighborNode.f = neighborNode.g + neighborNode.h;
+    /**
+     * Distances between every source and every target station (by code), for example for fare tables.
+     * result[i][j] is the distance from sources.get(i) to targets.get(j), positive infinity when there is no path.
+     * Instead of a findPath per pair this runs one search per source that stops once all targets are settled.
+     * The sources are spread over the common fork join pool.
+     */
+    public double[][] distanceMatrix(List<String> sources, List<String> targets) {
+        return distanceMatrix(sources, targets, ForkJoinPool.commonPool());
+    }
 
-                    openSet.remove(neighborNode); // Remove and re-insert to update my priority queue
-                    openSet.add(neighborNode);
-                }
+    // Same as distanceMatrix(sources, targets) but with the searches running in the given pool
+    public double[][] distanceMatrix(List<String> sources, List<String> targets, ForkJoinPool pool) {
+        int[] sourceIndices = resolve(sources);
+        int[] targetIndices = resolve(targets);
+        boolean[] isTarget = new boolean[graph.getVertexCount()];
+        int distinctTargets = 0;
+        for (int target : targetIndices) {
+            if (!isTarget[target]) {
+                isTarget[target] = true;
+                distinctTargets++;
             }
         }
 
-        return null; // Path not found
+        double[][] matrix = new double[sourceIndices.length][targetIndices.length];
+        int targetCount = distinctTargets;
+        pool.submit(() -> IntStream.range(0, sourceIndices.length).parallel().forEach(i -> {
+            SearchContext context = contexts.poll();
+            if (context == null) {
+                context = new SearchContext();
+            }
+            try {
+                context.distancesTo(sourceIndices[i], targetIndices, isTarget, targetCount, matrix[i]);
+            } finally {
+                contexts.offer(context);
+            }
+        })).join();
+        return matrix;
+    }
+
+    // Every station within the given track distance (km) of the station with the given code, see
+    // DijkstraAlgorithm.reachableWithin. Throws an IllegalArgumentException for an unknown code
+    public Isochrone reachableWithin(String code, double budget) {
+        return DijkstraAlgorithm.reachableWithin(graph, resolve(List.of(code))[0], budget);
     }
 
-    private List<Station> reconstructPath(Node node) {
-        List<Station> path = new ArrayList<>();
-        while (node != null) {
-            path.add(node.station);
-            node = node.parent;
+    private int[] resolve(List<String> codes) {
+        int[] indices = new int[codes.size()];
+        for (int i = 0; i < indices.length; i++) {
+            indices[i] = network.indexOf(codes.get(i));
+            if (indices[i] == -1) {
+                throw new IllegalArgumentException("Station not present in the network: " + codes.get(i));
+            }
         }
-        Collections.reverse(path);
-        return path;
+        return indices;
+    }
+
+    // The path of findPath together with its total weight, or null when there is no path
+    public Route findRoute(String startCode, String goalCode) {
+        List<Station> path = findPath(startCode, goalCode);
+        return path == null ? null : new Route(path, calculateTotalPathWeight(path));
     }
 
     public double calculateTotalPathWeight(List<Station> path) {
@@ -134,18 +313,9 @@ public class AStarPathFinding {
     }
 
 
-    //I had to add this method to reset the state as when i tried to use the menu option to calculate the
-    // shortest path between two stations more than once i was not able as the state of the
-    // astar was not renewed but with this update my tests worked flawlessly
+    // Every query starts a new generation of its search context, so there is no state left to reset. Kept so
+    // existing callers keep working
     public void resetState() {
-        openSet.clear();
-        closedSet.clear();
-        for (Node node : allNodes.values()) {
-            node.g = Double.MAX_VALUE;
-            node.h = 0;
-            node.f = 0;
-            node.parent = null;
-        }
     }
 
 
@@ -19,6 +19,11 @@ public abstract class AbstractGraph<V> implements Graph<V> {
         this.vertices = new ArrayList<>(Arrays.asList(vertices));
     }
 
+    // Used by graphs that already have their vertices in a list, so no intermediate array is needed
+    protected AbstractGraph(List<V> vertices) {
+        this.vertices = new ArrayList<>(vertices);
+    }
+
     protected List<V> getVertices() {
         return vertices;
     }
@@ -0,0 +1,119 @@
+package graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Common base of the weighted graphs (the matrix graph and the compressed sparse row graph).
+ * The path finding and spanning tree algorithms only depend on this class, so they run on
+ * either representation without changes.
+ */
+public abstract class AbstractWeightedGraph<V> extends AbstractGraph<V> {
+
+    protected AbstractWeightedGraph(List<V> vertices) {
+        super(vertices);
+    }
+
+    public abstract boolean isDirected();
+
+    // Returns the weight of the connection between two vertices or null when they are not connected
+    public abstract Double getWeight(V vertex1, V vertex2);
+
+    // Index of the vertex in constant time, throws an IllegalArgumentException when the vertex is not in the graph
+    protected abstract int getIndex(V vertex);
+
+    /*
+     * Index based versions of the lookups. Hot loops resolve their vertices to indices once and then
+     * use these, so no object lookup or boxing happens per connection.
+     */
+
+    // Returns the index of the vertex, or -1 when the vertex is not in the graph
+    public int indexOf(V vertex) {
+        return contains(vertex) ? getIndex(vertex) : -1;
+    }
+
+    public V vertexAt(int index) {
+        return getVertices().get(index);
+    }
+
+    // Weight of the connection between the vertices at the two indices, positive infinity when they are not connected
+    public abstract double getWeightByIndex(int index1, int index2);
+
+    // Indices of the vertices directly connected to the vertex at the given index
+    public abstract int[] getNeighbourIndices(int index);
+
+    public List<V> breadthFirst(V startVertex) {
+        boolean[] visited = new boolean[getVertexCount()];
+        Frontier queue = new Frontier(visited);
+        List<V> result = new ArrayList<>();
+        queue.add(getIndex(startVertex));
+
+        while (!queue.isEmpty()) {
+            int currentVertex = queue.pollFirst();
+            if (!visited[currentVertex]) {
+                result.add(vertexAt(currentVertex));
+                visited[currentVertex] = true;
+                forEachNeighbour(currentVertex, queue);
+            }
+        }
+
+        return result;
+    }
+
+    public List<V> depthFirst(V startVertex) {
+        boolean[] visited = new boolean[getVertexCount()];
+        Frontier stack = new Frontier(visited);
+        List<V> result = new ArrayList<>();
+        stack.add(getIndex(startVertex));
+
+        while (!stack.isEmpty()) {
+            int currentVertex = stack.pollLast();
+            if (!visited[currentVertex]) {
+                result.add(vertexAt(currentVertex));
+                visited[currentVertex] = true;
+                forEachNeighbour(currentVertex, stack);
+            }
+        }
+        return result;
+    }
+
+    // Growable array of vertex indices used as the queue of breadthFirst and the stack of depthFirst.
+    // It is the neighbour consumer itself, so a traversal allocates nothing per visited vertex
+    private static final class Frontier implements IntDoubleConsumer {
+        private final boolean[] visited;
+        private int[] items = new int[16];
+        private int head;
+        private int tail;
+
+        Frontier(boolean[] visited) {
+            this.visited = visited;
+        }
+
+        @Override
+        public void accept(int target, double weight) {
+            if (!visited[target]) {
+                add(target);
+            }
+        }
+
+        void add(int vertex) {
+            if (tail == items.length) {
+                items = Arrays.copyOf(items, items.length * 2);
+            }
+            items[tail++] = vertex;
+        }
+
+        int pollFirst() {
+            return items[head++];
+        }
+
+        int pollLast() {
+            return items[--tail];
+        }
+
+        boolean isEmpty() {
+            return head == tail;
+        }
+    }
+}
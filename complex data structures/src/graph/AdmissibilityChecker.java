@@ -0,0 +1,40 @@
+package graph;
+
+/**
+ * Debug check that a heuristic never estimates more than the real distance. It runs a full Dijkstra from the
+ * goal, so it is meant for tests and debugging only, not for every production query.
+ */
+public class AdmissibilityChecker {
+
+    // Small tolerance for rounding differences of the floating point calculations
+    private static final double TOLERANCE = 1e-9;
+
+    private final AbstractWeightedGraph<?> graph;
+
+    public AdmissibilityChecker(AbstractWeightedGraph<?> graph) {
+        if (graph.isDirected()) {
+            throw new IllegalArgumentException("The admissibility check is only supported for undirected graphs.");
+        }
+        this.graph = graph;
+    }
+
+    // Throws an IllegalStateException for the first vertex whose estimate towards the goal is too large
+    public void check(Heuristic heuristic, int goal) {
+        double[] distances = DijkstraAlgorithm.distancesFrom(graph, goal); // undirected, so this is the distance to the goal
+        Heuristic.Estimator estimator = heuristic.forGoal(goal);
+        for (int v = 0; v < distances.length; v++) {
+            double estimate = estimator.estimate(v);
+            if (estimate > distances[v] + TOLERANCE) {
+                throw new IllegalStateException("Heuristic is not admissible: estimate " + estimate + " from "
+                        + graph.vertexAt(v) + " to " + graph.vertexAt(goal) + " is larger than the distance " + distances[v]);
+            }
+        }
+    }
+
+    // Checks every vertex of the graph as goal
+    public void checkAll(Heuristic heuristic) {
+        for (int goal = 0; goal < graph.getVertexCount(); goal++) {
+            check(heuristic, goal);
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package graph;
+
+import model.Station;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Point to point search from both ends at the same time: a forward search from the start and a backward search
+ * from the goal that meet in the middle. For long routes both searches together settle far fewer stations than
+ * one search from the start.
+ *
+ * With the ZeroHeuristic (the default) this is bidirectional Dijkstra. With another heuristic it is bidirectional
+ * A* with average potentials: the forward search uses p(v) = (h(v, goal) - h(start, v)) / 2 and the backward
+ * search uses -p(v). The reduced length of a track is then the same in both directions, so the searches stop
+ * correctly as soon as the smallest keys of both open sets together reach the best connection found so far.
+ * This needs a consistent heuristic, such as the ZeroHeuristic or the LandmarkHeuristic.
+ *
+ * Only undirected graphs are supported, the backward search walks the same tracks as the forward search.
+ * Like AStarPathFinding one instance can be used by many threads at the same time.
+ */
+public class BidirectionalSearch {
+
+    private final RouteNetwork network;
+    private final AbstractWeightedGraph<Station> graph;
+    private final Queue<SearchContext> contexts = new ConcurrentLinkedQueue<>();
+    private final SearchStatistics statistics = new SearchStatistics();
+    private volatile Heuristic heuristic = new ZeroHeuristic();
+    private volatile int lastSettledNodes;
+
+    public BidirectionalSearch(AbstractWeightedGraph<Station> graph) {
+        this(new RouteNetwork(graph));
+    }
+
+    public BidirectionalSearch(RouteNetwork network) {
+        if (network.getGraph().isDirected()) {
+            throw new IllegalArgumentException("The bidirectional search is only supported for undirected graphs.");
+        }
+        this.network = network;
+        this.graph = network.getGraph();
+    }
+
+    // Must be consistent (never more than the track length plus the estimate of the next station)
+    public void setHeuristic(Heuristic heuristic) {
+        this.heuristic = heuristic;
+    }
+
+    public Heuristic getHeuristic() {
+        return heuristic;
+    }
+
+    // Stations settled by both directions in the last query that finished
+    public int getSettledNodeCount() {
+        return lastSettledNodes;
+    }
+
+    // Counters over all queries so far, the expanded nodes are the stations settled by both directions
+    public SearchStatistics getStatistics() {
+        return statistics;
+    }
+
+    // Shortest path between the stations with the given codes, or null when a station is unknown or there is
+    // no path, the same as AStarPathFinding.findPath
+    public List<Station> findPath(String startCode, String goalCode) {
+        Station start = network.findStation(startCode);
+        Station goal = network.findStation(goalCode);
+        if (start == null || goal == null) {
+            return null;
+        }
+        return findPath(start, goal);
+    }
+
+    public List<Station> findPath(Station start, Station goal) {
+        int startIndex = graph.indexOf(start);
+        int goalIndex = graph.indexOf(goal);
+        if (startIndex == -1 || goalIndex == -1) {
+            throw new IllegalArgumentException("Vertex not present in the graph.");
+        }
+
+        SearchContext context = contexts.poll();
+        if (context == null) {
+            context = new SearchContext();
+        }
+        try {
+            List<Station> path = context.findPath(startIndex, goalIndex, heuristic);
+            lastSettledNodes = context.settled;
+            statistics.record(context.settled);
+            return path;
+        } finally {
+            contexts.offer(context);
+        }
+    }
+
+    // Both directions of one query. A context is only used by one thread at a time
+    private final class SearchContext {
+        private final Direction forward = new Direction(1);
+        private final Direction backward = new Direction(-1);
+        private Heuristic.Estimator toGoal;
+        private Heuristic.Estimator toStart;
+        private double best;
+        private int meeting;
+        private int settled;
+
+        List<Station> findPath(int start, int goal, Heuristic heuristic) {
+            toGoal = heuristic.forGoal(goal);
+            toStart = heuristic.forGoal(start);
+            best = Double.POSITIVE_INFINITY;
+            meeting = -1;
+            settled = 0;
+            forward.start(start);
+            backward.start(goal);
+            if (start == goal) {
+                best = 0;
+                meeting = start;
+            }
+
+            while (!forward.heap.isEmpty() && !backward.heap.isEmpty()) {
+                double forwardKey = forward.heap.peekKey();
+                double backwardKey = backward.heap.peekKey();
+                // every shorter connection would have to pass a station with at least these keys in both searches
+                if (forwardKey + backwardKey >= best) {
+                    break;
+                }
+                // continue the search with the smaller open set, so both sides stay about the same size
+                if (forward.heap.size() <= backward.heap.size()) {
+                    forward.settleNext(backward);
+                } else {
+                    backward.settleNext(forward);
+                }
+            }
+
+            if (meeting == -1) {
+                return null;
+            }
+            List<Station> path = new ArrayList<>();
+            for (int v = meeting; v != -1; v = forward.state.parent(v)) {
+                path.add(graph.vertexAt(v));
+            }
+            Collections.reverse(path);
+            for (int v = backward.state.parent(meeting); v != -1; v = backward.state.parent(v)) {
+                path.add(graph.vertexAt(v));
+            }
+            return path;
+        }
+
+        // Average potential of the forward search, the backward search uses the negated value
+        private double potential(int vertex) {
+            return (toGoal.estimate(vertex) - toStart.estimate(vertex)) / 2;
+        }
+
+        private final class Direction implements IntDoubleConsumer {
+            private final int sign; // 1 for the forward search, -1 for the backward search
+            private final SearchState state = new SearchState();
+            private final DistanceHeap heap = new DistanceHeap(); // keyed by distance + sign * potential
+            private Direction other;
+            private int current;
+
+            Direction(int sign) {
+                this.sign = sign;
+            }
+
+            void start(int source) {
+                state.start(graph.getVertexCount());
+                heap.clear();
+                state.update(source, 0, -1);
+                heap.push(source, sign * potential(source));
+            }
+
+            void settleNext(Direction other) {
+                int v = heap.pop();
+                if (state.isClosed(v)) {
+                    return; // an outdated entry, the station was already settled with a shorter distance
+                }
+                state.close(v);
+                settled++;
+                this.other = other;
+                current = v;
+                graph.forEachNeighbour(v, this);
+            }
+
+            @Override
+            public void accept(int neighbour, double weight) {
+                double distance = state.distance(current) + weight;
+                if (distance < state.distance(neighbour)) {
+                    state.update(neighbour, distance, current);
+                    heap.push(neighbour, distance + sign * potential(neighbour));
+                }
+                double connection = state.distance(neighbour) + other.state.distance(neighbour);
+                if (connection < best) {
+                    best = connection;
+                    meeting = neighbour;
+                }
+            }
+        }
+    }
+}
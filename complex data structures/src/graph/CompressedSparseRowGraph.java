@@ -0,0 +1,226 @@
+package graph;
+
+import model.Station;
+import model.Track;
+
+import java.util.*;
+
+/**
+ * A weighted graph stored in compressed sparse row (CSR) form. The outgoing connections of vertex i
+ * are stored in targets[offsets[i]] .. targets[offsets[i + 1] - 1] with the matching weights at the
+ * same positions, so the memory used is O(V + E) primitives instead of the O(V^2) boxed weights of
+ * the WeightedMatrixGraph.
+ *
+ * The graph is immutable once built. Within a row the targets are sorted by vertex index, which keeps
+ * the neighbour order (and therefore the results of the searches) identical to the matrix graph.
+ */
+public class CompressedSparseRowGraph<V> extends AbstractWeightedGraph<V> {
+
+    private final boolean directed;
+    private final int[] offsets;
+    private final int[] targets;
+    private final double[] weights;
+    private final Map<V, Integer> indices;
+
+    /**
+     * Builds the graph from a list of connections given as parallel arrays. For an undirected graph
+     * every connection is stored in both directions. When the same connection is given more than once
+     * the last weight wins, just like calling connect twice on the matrix graph.
+     */
+    public CompressedSparseRowGraph(boolean directed, List<V> vertices, int[] from, int[] to, double[] weight, int edgeCount) {
+        super(vertices);
+        this.directed = directed;
+        this.indices = new HashMap<>();
+        for (int i = 0; i < vertices.size(); i++) {
+            indices.putIfAbsent(vertices.get(i), i);
+        }
+
+        int vertexCount = vertices.size();
+        int arcCount = directed ? edgeCount : edgeCount * 2;
+
+        // counting sort of the arcs by their source, stable so the insertion order is kept within a row
+        int[] rowStart = new int[vertexCount + 1];
+        for (int e = 0; e < edgeCount; e++) {
+            checkIndex(from[e], vertexCount);
+            checkIndex(to[e], vertexCount);
+            rowStart[from[e] + 1]++;
+            if (!directed) {
+                rowStart[to[e] + 1]++;
+            }
+        }
+        for (int i = 0; i < vertexCount; i++) {
+            rowStart[i + 1] += rowStart[i];
+        }
+
+        int[] next = Arrays.copyOf(rowStart, vertexCount);
+        int[] arcTargets = new int[arcCount];
+        double[] arcWeights = new double[arcCount];
+        for (int e = 0; e < edgeCount; e++) {
+            int position = next[from[e]]++;
+            arcTargets[position] = to[e];
+            arcWeights[position] = weight[e];
+            if (!directed) {
+                position = next[to[e]]++;
+                arcTargets[position] = from[e];
+                arcWeights[position] = weight[e];
+            }
+        }
+
+        // sort every row by target and drop the duplicates, keeping the weight that was given last
+        this.offsets = new int[vertexCount + 1];
+        int size = 0;
+        for (int i = 0; i < vertexCount; i++) {
+            int start = rowStart[i];
+            int end = rowStart[i + 1];
+            sortRow(arcTargets, arcWeights, start, end);
+            offsets[i] = size;
+            for (int k = start; k < end; k++) {
+                if (k + 1 < end && arcTargets[k + 1] == arcTargets[k]) {
+                    continue;
+                }
+                arcTargets[size] = arcTargets[k];
+                arcWeights[size] = arcWeights[k];
+                size++;
+            }
+        }
+        offsets[vertexCount] = size;
+        this.targets = Arrays.copyOf(arcTargets, size);
+        this.weights = Arrays.copyOf(arcWeights, size);
+    }
+
+    // Builds the graph of the railway network, the track codes are matched case-insensitively with the station codes
+    public static CompressedSparseRowGraph<Station> fromTracks(boolean directed, List<Station> stations, List<Track> tracks) {
+        return new GraphBuilder(stations, tracks).build(directed);
+    }
+
+    // Insertion sort on the targets of one row, stable so equal targets stay in insertion order.
+    // The rows of a railway network only hold a handful of connections so this is the cheapest option
+    private static void sortRow(int[] rowTargets, double[] rowWeights, int start, int end) {
+        for (int i = start + 1; i < end; i++) {
+            int target = rowTargets[i];
+            double weight = rowWeights[i];
+            int j = i - 1;
+            while (j >= start && rowTargets[j] > target) {
+                rowTargets[j + 1] = rowTargets[j];
+                rowWeights[j + 1] = rowWeights[j];
+                j--;
+            }
+            rowTargets[j + 1] = target;
+            rowWeights[j + 1] = weight;
+        }
+    }
+
+    private static void checkIndex(int index, int vertexCount) {
+        if (index < 0 || index >= vertexCount) {
+            throw new IllegalArgumentException("Vertex not present in the graph.");
+        }
+    }
+
+    @Override
+    public boolean isDirected() {
+        return directed;
+    }
+
+    @Override
+    public boolean contains(V vertex) {
+        return indices.containsKey(vertex);
+    }
+
+    @Override
+    protected int getIndex(V vertex) {
+        Integer index = indices.get(vertex);
+        if (index == null) {
+            throw new IllegalArgumentException("Vertex not present in the graph.");
+        }
+        return index;
+    }
+
+    // Position of the connection from -> to in the targets array, or -1 when there is none.
+    // The rows are sorted so a binary search is enough
+    private int findArc(int from, int to) {
+        int low = offsets[from];
+        int high = offsets[from + 1] - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (targets[mid] < to) {
+                low = mid + 1;
+            } else if (targets[mid] > to) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public boolean areConnected(V vertex1, V vertex2) {
+        return findArc(getIndex(vertex1), getIndex(vertex2)) != -1;
+    }
+
+    @Override
+    public Double getWeight(V vertex1, V vertex2) {
+        int arc = findArc(getIndex(vertex1), getIndex(vertex2));
+        if (arc == -1) {
+            return null;
+        }
+        return weights[arc];
+    }
+
+    @Override
+    public double getWeightByIndex(int index1, int index2) {
+        int arc = findArc(index1, index2);
+        return arc != -1 ? weights[arc] : Double.POSITIVE_INFINITY;
+    }
+
+    @Override
+    public int[] getNeighbourIndices(int index) {
+        return Arrays.copyOfRange(targets, offsets[index], offsets[index + 1]);
+    }
+
+    @Override
+    public void forEachNeighbour(int vertex, IntDoubleConsumer consumer) {
+        for (int arc = offsets[vertex]; arc < offsets[vertex + 1]; arc++) {
+            consumer.accept(targets[arc], weights[arc]);
+        }
+    }
+
+    @Override
+    public Iterable<V> getConnectedNeighbours(V vertex) {
+        int vertexIndex = getIndex(vertex);
+        List<V> neighbours = new ArrayList<>(offsets[vertexIndex + 1] - offsets[vertexIndex]);
+        for (int arc = offsets[vertexIndex]; arc < offsets[vertexIndex + 1]; arc++) {
+            neighbours.add(getVertices().get(targets[arc]));
+        }
+        return neighbours;
+    }
+
+    // Number of stored connections, an undirected connection counts twice as it is stored in both rows
+    public int getEdgeCount() {
+        return targets.length;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("CompressedSparseRowGraph {");
+        sb.append("\n  directed = ").append(directed);
+        sb.append("\n  vertices = ").append(getVertices());
+
+        sb.append("\n  connections = [\n");
+        for (int i = 0; i < getVertexCount(); i++) {
+            for (int arc = offsets[i]; arc < offsets[i + 1]; arc++) {
+                sb.append("    ")
+                        .append(getVertices().get(i))
+                        .append(" -> ")
+                        .append(getVertices().get(targets[arc]))
+                        .append(" [weight=")
+                        .append(weights[arc])
+                        .append("]\n");
+            }
+        }
+        sb.append("  ]\n}");
+
+        return sb.toString();
+    }
+}
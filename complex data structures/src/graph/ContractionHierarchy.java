@@ -0,0 +1,478 @@
+package graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Contraction Hierarchies (CH) over an undirected weighted graph.
+ *
+ * Preprocessing contracts the vertices one level at a time. Contracting a vertex v removes it from the
+ * remaining graph and adds a shortcut u - w for every pair of its neighbours whose shortest connection runs
+ * through v (checked with a bounded "witness" search). Every level is an independent set of vertices (no two
+ * of them are connected) whose priority is lower than that of all their neighbours, so the shortcuts of the
+ * whole level are computed in parallel on the fork-join common pool and then applied in one go.
+ *
+ * A query is a bidirectional Dijkstra that only follows connections to vertices contracted later ("upward").
+ * Both directions meet at the highest vertex of the shortest path, and the shortcuts on the way are unpacked
+ * again into the original vertices. The distances are exactly those of a plain search, but only a small part
+ * of the network is settled.
+ */
+public class ContractionHierarchy<V> {
+
+    // A witness search gives up after settling this many vertices and the shortcut is added anyway.
+    // That only costs an unnecessary shortcut, never a wrong distance
+    private static final int MAX_WITNESS_SETTLED = 500;
+
+    private final AbstractWeightedGraph<V> graph;
+    private final int[] rank;
+
+    // The upward graph in compressed sparse row form, upMiddle is the contracted vertex a shortcut skips or -1
+    private final int[] upOffsets;
+    private final int[] upTargets;
+    private final double[] upWeights;
+    private final int[] upMiddle;
+    private final int shortcutCount;
+
+    // The graph that is left during preprocessing, only used while the constructor runs
+    private int[][] overlayTargets;
+    private double[][] overlayWeights;
+    private int[][] overlayMiddle;
+    private int[] overlaySize;
+    private boolean[] contracted;
+    private boolean[] selected;
+    private int[] contractedNeighbours;
+    private ThreadLocal<WitnessSearch> witnessSearches;
+
+    public ContractionHierarchy(AbstractWeightedGraph<V> graph) {
+        if (graph.isDirected()) {
+            throw new IllegalArgumentException("Contraction hierarchies are only supported for undirected graphs.");
+        }
+        this.graph = graph;
+        int vertexCount = graph.getVertexCount();
+        this.rank = new int[vertexCount];
+        this.witnessSearches = ThreadLocal.withInitial(() -> new WitnessSearch(vertexCount));
+
+        buildOverlay();
+
+        // the upward connections of every vertex, collected when it is contracted
+        int[][] upwardTargets = new int[vertexCount][];
+        double[][] upwardWeights = new double[vertexCount][];
+        int[][] upwardMiddle = new int[vertexCount][];
+
+        double[] priority = new double[vertexCount];
+        boolean[] dirty = new boolean[vertexCount];
+        Arrays.fill(dirty, true);
+        int nextRank = 0;
+        int shortcuts = 0;
+        int[] remaining = IntStream.range(0, vertexCount).toArray();
+
+        while (remaining.length > 0) {
+            // 1. refresh the priorities of the vertices whose neighbourhood changed, in parallel
+            int[] current = remaining;
+            IntStream.of(current).parallel().filter(v -> dirty[v]).forEach(v -> {
+                priority[v] = priority(v);
+                dirty[v] = false;
+            });
+
+            // 2. pick the vertices that have a lower priority than all of their remaining neighbours
+            int[] level = IntStream.of(current).filter(v -> isLocalMinimum(v, priority)).toArray();
+            for (int v : level) {
+                selected[v] = true;
+            }
+
+            // 3. compute the shortcuts of the whole level in parallel, the overlay is only read here
+            List<List<Shortcut>> levelShortcuts = IntStream.range(0, level.length).parallel()
+                    .mapToObj(i -> findShortcuts(level[i])).collect(Collectors.toList());
+
+            // 4. apply them and remove the level from the overlay
+            for (int i = 0; i < level.length; i++) {
+                int v = level[i];
+                rank[v] = nextRank++;
+
+                int count = 0;
+                int[] targets = new int[overlaySize[v]];
+                double[] weights = new double[overlaySize[v]];
+                int[] middle = new int[overlaySize[v]];
+                for (int k = 0; k < overlaySize[v]; k++) {
+                    int w = overlayTargets[v][k];
+                    if (!contracted[w]) {
+                        targets[count] = w;
+                        weights[count] = overlayWeights[v][k];
+                        middle[count] = overlayMiddle[v][k];
+                        count++;
+                        contractedNeighbours[w]++;
+                        dirty[w] = true;
+                    }
+                }
+                upwardTargets[v] = Arrays.copyOf(targets, count);
+                upwardWeights[v] = Arrays.copyOf(weights, count);
+                upwardMiddle[v] = Arrays.copyOf(middle, count);
+
+                for (Shortcut shortcut : levelShortcuts.get(i)) {
+                    if (addOverlayEdge(shortcut.from, shortcut.to, shortcut.weight, v)) {
+                        shortcuts++;
+                    }
+                }
+            }
+            for (int v : level) {
+                contracted[v] = true;
+                selected[v] = false;
+            }
+            remaining = IntStream.of(current).filter(v -> !contracted[v]).toArray();
+        }
+
+        this.shortcutCount = shortcuts;
+        this.upOffsets = new int[vertexCount + 1];
+        for (int v = 0; v < vertexCount; v++) {
+            upOffsets[v + 1] = upOffsets[v] + upwardTargets[v].length;
+        }
+        this.upTargets = new int[upOffsets[vertexCount]];
+        this.upWeights = new double[upOffsets[vertexCount]];
+        this.upMiddle = new int[upOffsets[vertexCount]];
+        for (int v = 0; v < vertexCount; v++) {
+            System.arraycopy(upwardTargets[v], 0, upTargets, upOffsets[v], upwardTargets[v].length);
+            System.arraycopy(upwardWeights[v], 0, upWeights, upOffsets[v], upwardWeights[v].length);
+            System.arraycopy(upwardMiddle[v], 0, upMiddle, upOffsets[v], upwardMiddle[v].length);
+        }
+
+        // the overlay is not needed anymore once the hierarchy is built
+        overlayTargets = null;
+        overlayWeights = null;
+        overlayMiddle = null;
+        overlaySize = null;
+        contracted = null;
+        selected = null;
+        contractedNeighbours = null;
+        witnessSearches = null;
+    }
+
+    private void buildOverlay() {
+        int vertexCount = graph.getVertexCount();
+        overlayTargets = new int[vertexCount][];
+        overlayWeights = new double[vertexCount][];
+        overlayMiddle = new int[vertexCount][];
+        overlaySize = new int[vertexCount];
+        contracted = new boolean[vertexCount];
+        selected = new boolean[vertexCount];
+        contractedNeighbours = new int[vertexCount];
+        for (int v = 0; v < vertexCount; v++) {
+            overlayTargets[v] = new int[4];
+            overlayWeights[v] = new double[4];
+            overlayMiddle[v] = new int[4];
+        }
+        for (int v = 0; v < vertexCount; v++) {
+            int from = v;
+            graph.forEachNeighbour(v, (target, weight) -> {
+                if (target != from) {
+                    addOverlayArc(from, target, weight, -1);
+                }
+            });
+        }
+    }
+
+    // Adds the undirected connection u - w, or lowers its weight when it is already there.
+    // Returns true when the overlay changed
+    private boolean addOverlayEdge(int u, int w, double weight, int middle) {
+        boolean changed = addOverlayArc(u, w, weight, middle);
+        addOverlayArc(w, u, weight, middle);
+        return changed;
+    }
+
+    private boolean addOverlayArc(int from, int to, double weight, int middle) {
+        for (int k = 0; k < overlaySize[from]; k++) {
+            if (overlayTargets[from][k] == to) {
+                if (weight < overlayWeights[from][k]) {
+                    overlayWeights[from][k] = weight;
+                    overlayMiddle[from][k] = middle;
+                    return true;
+                }
+                return false;
+            }
+        }
+        if (overlaySize[from] == overlayTargets[from].length) {
+            int capacity = overlayTargets[from].length * 2;
+            overlayTargets[from] = Arrays.copyOf(overlayTargets[from], capacity);
+            overlayWeights[from] = Arrays.copyOf(overlayWeights[from], capacity);
+            overlayMiddle[from] = Arrays.copyOf(overlayMiddle[from], capacity);
+        }
+        overlayTargets[from][overlaySize[from]] = to;
+        overlayWeights[from][overlaySize[from]] = weight;
+        overlayMiddle[from][overlaySize[from]] = middle;
+        overlaySize[from]++;
+        return true;
+    }
+
+    // Edge difference (shortcuts added minus connections removed) plus the number of contracted neighbours,
+    // the second part spreads the contraction evenly over the network
+    private double priority(int v) {
+        int degree = 0;
+        for (int k = 0; k < overlaySize[v]; k++) {
+            if (!contracted[overlayTargets[v][k]]) {
+                degree++;
+            }
+        }
+        return findShortcuts(v).size() - degree + contractedNeighbours[v];
+    }
+
+    private boolean isLocalMinimum(int v, double[] priority) {
+        for (int k = 0; k < overlaySize[v]; k++) {
+            int w = overlayTargets[v][k];
+            if (contracted[w]) {
+                continue;
+            }
+            if (priority[w] < priority[v] || (priority[w] == priority[v] && w < v)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // The shortcuts needed when v is contracted. The witness searches skip v and every other vertex of the
+    // current level, because those are removed at the same time
+    private List<Shortcut> findShortcuts(int v) {
+        int degree = 0;
+        int[] neighbours = new int[overlaySize[v]];
+        double[] weights = new double[overlaySize[v]];
+        for (int k = 0; k < overlaySize[v]; k++) {
+            int w = overlayTargets[v][k];
+            if (!contracted[w]) {
+                neighbours[degree] = w;
+                weights[degree] = overlayWeights[v][k];
+                degree++;
+            }
+        }
+
+        List<Shortcut> shortcuts = new ArrayList<>();
+        WitnessSearch search = witnessSearches.get();
+        for (int i = 0; i < degree - 1; i++) {
+            double limit = 0;
+            for (int j = i + 1; j < degree; j++) {
+                limit = Math.max(limit, weights[i] + weights[j]);
+            }
+            search.run(neighbours[i], v, limit);
+            for (int j = i + 1; j < degree; j++) {
+                double viaV = weights[i] + weights[j];
+                if (search.distance(neighbours[j]) > viaV) {
+                    shortcuts.add(new Shortcut(neighbours[i], neighbours[j], viaV));
+                }
+            }
+        }
+        return shortcuts;
+    }
+
+    // A connection u - w through the vertex that is contracted, found before the level is applied
+    private static final class Shortcut {
+        private final int from;
+        private final int to;
+        private final double weight;
+
+        Shortcut(int from, int to, double weight) {
+            this.from = from;
+            this.to = to;
+            this.weight = weight;
+        }
+    }
+
+    public int getShortcutCount() {
+        return shortcutCount;
+    }
+
+    // Position of the vertex in the contraction order, vertices with a higher rank were contracted later
+    public int getRank(V vertex) {
+        return rank[graph.getIndex(vertex)];
+    }
+
+    // Creates the buffers for queries, a query object can be reused but must not be shared between threads
+    public Query newQuery() {
+        return new Query();
+    }
+
+    // Index of the upward connection between a and b, it is stored at the one that was contracted first
+    private int findUpwardEdge(int a, int b) {
+        int low = rank[a] < rank[b] ? a : b;
+        int high = low == a ? b : a;
+        for (int edge = upOffsets[low]; edge < upOffsets[low + 1]; edge++) {
+            if (upTargets[edge] == high) {
+                return edge;
+            }
+        }
+        throw new IllegalStateException("Missing connection in the contraction hierarchy.");
+    }
+
+    // Appends the original vertices of the connection a - b after a (so b is the last one added)
+    private void unpack(int a, int b, List<V> path) {
+        int middle = upMiddle[findUpwardEdge(a, b)];
+        if (middle == -1) {
+            path.add(graph.vertexAt(b));
+            return;
+        }
+        unpack(a, middle, path);
+        unpack(middle, b, path);
+    }
+
+    public class Query {
+        private final Direction forward = new Direction();
+        private final Direction backward = new Direction();
+        private double lastDistance;
+        private int lastSettled;
+
+        /**
+         * Shortest path from source to target with all the original vertices, or null when there is none.
+         * The distance of the path is available through getLastDistance afterwards.
+         */
+        public List<V> findPath(V source, V target) {
+            int s = graph.getIndex(source);
+            int t = graph.getIndex(target);
+            forward.start(s);
+            backward.start(t);
+
+            double best = Double.POSITIVE_INFINITY;
+            int meeting = -1;
+            lastSettled = 0;
+
+            while (true) {
+                double forwardKey = forward.heap.isEmpty() ? Double.POSITIVE_INFINITY : forward.heap.peekKey();
+                double backwardKey = backward.heap.isEmpty() ? Double.POSITIVE_INFINITY : backward.heap.peekKey();
+                // a direction can stop once it cannot improve the best connection anymore
+                if (Math.min(forwardKey, backwardKey) >= best) {
+                    break;
+                }
+                Direction direction = forwardKey <= backwardKey ? forward : backward;
+                Direction other = direction == forward ? backward : forward;
+
+                double key = direction.heap.peekKey();
+                int v = direction.heap.pop();
+                if (key > direction.distance(v)) {
+                    continue; // outdated heap entry
+                }
+                lastSettled++;
+
+                double viaV = key + other.distance(v);
+                if (viaV < best) {
+                    best = viaV;
+                    meeting = v;
+                }
+                for (int edge = upOffsets[v]; edge < upOffsets[v + 1]; edge++) {
+                    direction.relax(v, upTargets[edge], key + upWeights[edge]);
+                }
+            }
+
+            lastDistance = best;
+            if (meeting == -1) {
+                return null;
+            }
+
+            List<Integer> up = new ArrayList<>();
+            for (int v = meeting; v != -1; v = forward.parent(v)) {
+                up.add(v);
+            }
+            Collections.reverse(up);
+            for (int v = backward.parent(meeting); v != -1; v = backward.parent(v)) {
+                up.add(v);
+            }
+
+            List<V> path = new ArrayList<>();
+            path.add(graph.vertexAt(up.get(0)));
+            for (int i = 0; i + 1 < up.size(); i++) {
+                unpack(up.get(i), up.get(i + 1), path);
+            }
+            return path;
+        }
+
+        // Distance of the last path found, positive infinity when there was none
+        public double getLastDistance() {
+            return lastDistance;
+        }
+
+        // Number of vertices settled by both directions during the last query
+        public int getLastSettledCount() {
+            return lastSettled;
+        }
+    }
+
+    // The state of one direction of a query. The stamps make starting a new query O(1)
+    private final class Direction {
+        private final double[] distance = new double[rank.length];
+        private final int[] parent = new int[rank.length];
+        private final int[] stamp = new int[rank.length];
+        private final DistanceHeap heap = new DistanceHeap();
+        private int generation;
+
+        void start(int source) {
+            generation++;
+            heap.clear();
+            relax(-1, source, 0);
+        }
+
+        double distance(int v) {
+            return stamp[v] == generation ? distance[v] : Double.POSITIVE_INFINITY;
+        }
+
+        int parent(int v) {
+            return parent[v];
+        }
+
+        void relax(int from, int to, double newDistance) {
+            if (newDistance < distance(to)) {
+                stamp[to] = generation;
+                distance[to] = newDistance;
+                parent[to] = from;
+                heap.push(to, newDistance);
+            }
+        }
+    }
+
+    // Bounded Dijkstra on the overlay, one instance per worker thread
+    private final class WitnessSearch {
+        private final double[] distance;
+        private final int[] stamp;
+        private final DistanceHeap heap = new DistanceHeap();
+        private int generation;
+
+        WitnessSearch(int vertexCount) {
+            distance = new double[vertexCount];
+            stamp = new int[vertexCount];
+        }
+
+        void run(int source, int skipped, double limit) {
+            generation++;
+            heap.clear();
+            stamp[source] = generation;
+            distance[source] = 0;
+            heap.push(source, 0);
+            int settled = 0;
+
+            while (!heap.isEmpty() && settled < MAX_WITNESS_SETTLED) {
+                double key = heap.peekKey();
+                int v = heap.pop();
+                if (key > distance(v)) {
+                    continue;
+                }
+                if (key > limit) {
+                    break;
+                }
+                settled++;
+                for (int k = 0; k < overlaySize[v]; k++) {
+                    int w = overlayTargets[v][k];
+                    if (w == skipped || contracted[w] || selected[w]) {
+                        continue;
+                    }
+                    double newDistance = key + overlayWeights[v][k];
+                    if (newDistance < distance(w)) {
+                        stamp[w] = generation;
+                        distance[w] = newDistance;
+                        heap.push(w, newDistance);
+                    }
+                }
+            }
+        }
+
+        double distance(int v) {
+            return stamp[v] == generation ? distance[v] : Double.POSITIVE_INFINITY;
+        }
+    }
+}
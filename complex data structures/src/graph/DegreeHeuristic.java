@@ -0,0 +1,40 @@
+package graph;
+
+import model.Station;
+
+/**
+ * The original A* heuristic: the straight line distance between the coordinates in degrees. It is admissible
+ * for this network, but as one degree is about 70 to 110 km it is far below the track distance in km, so
+ * it hardly guides the search.
+ */
+public class DegreeHeuristic implements Heuristic {
+
+    private final double[] latitudes;
+    private final double[] longitudes;
+
+    public DegreeHeuristic(AbstractWeightedGraph<Station> graph) {
+        latitudes = new double[graph.getVertexCount()];
+        longitudes = new double[graph.getVertexCount()];
+        for (int v = 0; v < latitudes.length; v++) {
+            latitudes[v] = graph.vertexAt(v).getGeoLat();
+            longitudes[v] = graph.vertexAt(v).getGeoLng();
+        }
+    }
+
+    public static double distance(Station current, Station goal) {
+        double dLat = goal.getGeoLat() - current.getGeoLat();
+        double dLng = goal.getGeoLng() - current.getGeoLng();
+        return Math.sqrt(dLat * dLat + dLng * dLng);
+    }
+
+    @Override
+    public Estimator forGoal(int goal) {
+        double goalLat = latitudes[goal];
+        double goalLng = longitudes[goal];
+        return vertex -> {
+            double dLat = goalLat - latitudes[vertex];
+            double dLng = goalLng - longitudes[vertex];
+            return Math.sqrt(dLat * dLat + dLng * dLng);
+        };
+    }
+}
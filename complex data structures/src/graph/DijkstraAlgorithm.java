@@ -1,78 +1,247 @@
 package graph;
 
+import heap.IndexedMinHeap;
 import model.Station;
 import model.Track;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.IntConsumer;
 import java.util.stream.Collectors;
 
 public class DijkstraAlgorithm {
 
-    public static List<Station> findShortestPath(WeightedMatrixGraph<Station> graph, Station source, Station target) {
-        Map<Station, Double> shortestDistances = new HashMap<>();
-        Map<Station, Station> previous = new HashMap<>();
+    // Search states and heaps are reused between calls. Every call starts a new generation of its state, so a
+    // search only pays for the stations it reaches instead of first setting a distance for every station
+    private static final Queue<Workspace> WORKSPACES = new ConcurrentLinkedQueue<>();
+
+    private static final class Workspace implements IntDoubleConsumer {
+        private final SearchState state = new SearchState();
+        // Indexed heap keyed by the distance, a vertex is in it at most once and its key is lowered in place,
+        // so there are no outdated entries to skip
+        private IndexedMinHeap heap = new IndexedMinHeap(0);
+        private int current;
+        // Neighbours further away than this are not added to the heap, infinite unless a budget is searched
+        private double limit = Double.POSITIVE_INFINITY;
+        // Vertices in the order they were settled by reachableWithin, grown when needed and reused
+        private int[] settled = new int[16];
+
+        // Settles the vertices in the order of their distance from the source and stops as soon as the target is
+        // taken from the heap, so only the region closer than the target is searched. Calls visit (when not null)
+        // for every settled vertex. Returns whether the target was reached
+        boolean search(AbstractWeightedGraph<?> graph, int source, int target, IntConsumer visit) {
+            start(graph, source, Double.POSITIVE_INFINITY);
+            while (!heap.isEmpty()) {
+                current = heap.pop();
+                if (visit != null) {
+                    visit.accept(current);
+                }
+                if (current == target) {
+                    return true;
+                }
+                graph.forEachNeighbour(current, this);
+            }
+            return false;
+        }
 
-        // Using a custom comparator for the PriorityQueue
-        PriorityQueue<Station> unvisited = new PriorityQueue<>(Comparator.comparingDouble(shortestDistances::get));
+        // Settles every vertex within the budget from the source and nothing further, so the work only depends
+        // on the size of the isochrone and not on the size of the graph
+        Isochrone searchWithin(AbstractWeightedGraph<?> graph, int source, double budget) {
+            start(graph, source, budget);
+            int count = 0;
+            while (!heap.isEmpty()) {
+                current = heap.pop();
+                if (count == settled.length) {
+                    settled = Arrays.copyOf(settled, count * 2);
+                }
+                settled[count++] = current;
+                graph.forEachNeighbour(current, this);
+            }
 
-        for (Station station : graph.getVertices()) {
-            shortestDistances.put(station, Double.MAX_VALUE);
+            int[] vertices = Arrays.copyOf(settled, count);
+            double[] distances = new double[count];
+            for (int i = 0; i < count; i++) {
+                distances[i] = state.distance(vertices[i]);
+            }
+            return new Isochrone(source, budget, vertices, distances);
         }
 
-        shortestDistances.put(source, 0.0);
-        unvisited.add(source);
+        private void start(AbstractWeightedGraph<?> graph, int source, double limit) {
+            if (heap.getCapacity() < graph.getVertexCount()) {
+                heap = new IndexedMinHeap(graph.getVertexCount());
+            }
+            heap.clear();
+            state.start(graph.getVertexCount());
+            this.limit = limit;
+
+            state.update(source, 0.0, -1);
+            heap.insert(source, 0.0);
+        }
 
-        // Lists tp record the processing order and priority queue content
-        List<String> visitedOrder = new ArrayList<>();
-        List<String> priorityQueueContent = new ArrayList<>();
+        @Override
+        public void accept(int target, double weight) {
+            double newDist = state.distance(current) + weight;
+            if (newDist <= limit && newDist < state.distance(target)) {
+                state.update(target, newDist, current);
+                heap.insertOrDecrease(target, newDist);
+            }
+        }
 
-        while (!unvisited.isEmpty()) {
-            Station current = unvisited.poll();
+        // Vertex ids from the source to the target of the last search
+        int[] path(int target) {
+            int length = 0;
+            for (int at = target; at != -1; at = state.parent(at)) {
+                length++;
+            }
+            int[] path = new int[length];
+            for (int at = target; at != -1; at = state.parent(at)) {
+                path[--length] = at;
+            }
+            return path;
+        }
+    }
 
+    private static Workspace acquire() {
+        Workspace workspace = WORKSPACES.poll();
+        return workspace != null ? workspace : new Workspace();
+    }
 
-            visitedOrder.add(current.getName() + "(" + shortestDistances.get(current) + "," + (previous.get(current) != null ? previous.get(current).getName() : "-") + ")");
+    public static List<Station> findShortestPath(AbstractWeightedGraph<Station> graph, Station source, Station target) {
+        return findShortestPath(graph, source, target, null);
+    }
 
-            StringBuilder priorityQueueValues = new StringBuilder();
-            for (Station s : unvisited) {
-                priorityQueueValues.append(s.getName()).append("(").append(shortestDistances.get(s)).append(",").append(previous.get(s) != null ? previous.get(s).getName() : "-").append(") ").append("/");
+    // Same search, reporting every visited station to the listener (null for no tracing). Use a
+    // DijkstraTracePrinter to print the visit order and queue contents like the slides
+    public static List<Station> findShortestPath(AbstractWeightedGraph<Station> graph, Station source, Station target,
+                                                 DijkstraTraceListener listener) {
+        int sourceIndex = graph.getIndex(source);
+        int targetIndex = graph.getIndex(target);
+        Workspace workspace = acquire();
+        try {
+            IntConsumer visit = null;
+            if (listener != null) {
+                SearchState state = workspace.state;
+                TraceQueue queue = new TraceQueue(graph, state, workspace);
+                visit = current -> {
+                    int parent = state.parent(current);
+                    listener.visited(graph.vertexAt(current), state.distance(current),
+                            parent != -1 ? graph.vertexAt(parent) : null, queue);
+                };
             }
-            if (priorityQueueValues.length() > 0) {
-                priorityQueueValues.setLength(priorityQueueValues.length() - 1);
+            boolean reached = workspace.search(graph, sourceIndex, targetIndex, visit);
+            if (listener != null) {
+                listener.finished(reached);
             }
-            priorityQueueContent.add(priorityQueueValues.toString());
-
-            for (Station neighbor : graph.getConnectedNeighbours(current)) {
-                Double newDist = shortestDistances.get(current) + graph.getWeight(current, neighbor);
-                if (shortestDistances.get(neighbor) == null || newDist < shortestDistances.get(neighbor)) {
-                    shortestDistances.put(neighbor, newDist);
-                    previous.put(neighbor, current);
-                    unvisited.add(neighbor);
-                }
+            if (!reached) {
+                // no path was found so i return an empty list
+                return Collections.emptyList();
             }
+
+            // Reconstructing the shortest path
+            List<Station> path = new ArrayList<>();
+            for (int vertex : workspace.path(targetIndex)) {
+                path.add(graph.vertexAt(vertex));
+            }
+            return path;
+        } finally {
+            WORKSPACES.offer(workspace);
         }
+    }
 
-        if (shortestDistances.get(target).equals(Double.MAX_VALUE)) {
-            // no path was found so i return an empty list
-            return Collections.emptyList();
+    // Index based version: the vertex indices of the shortest path from source to target (both included), or an
+    // empty array when the target cannot be reached. Stops as soon as the target is settled
+    public static <V> int[] findShortestPath(AbstractWeightedGraph<V> graph, int source, int target) {
+        Workspace workspace = acquire();
+        try {
+            return workspace.search(graph, source, target, null) ? workspace.path(target) : new int[0];
+        } finally {
+            WORKSPACES.offer(workspace);
         }
+    }
 
-        // Print the results
-        for (int i = 0; i < visitedOrder.size(); i++) {
-            System.out.println(visitedOrder.get(i) + " | " + priorityQueueContent.get(i));
+    // Length of the shortest path from source to target, positive infinity when the target cannot be reached
+    public static <V> double shortestDistance(AbstractWeightedGraph<V> graph, int source, int target) {
+        Workspace workspace = acquire();
+        try {
+            return workspace.search(graph, source, target, null) ? workspace.state.distance(target) : Double.POSITIVE_INFINITY;
+        } finally {
+            WORKSPACES.offer(workspace);
         }
+    }
 
-        // Reconstructing the shortest path
-        List<Station> path = new ArrayList<>();
-        for (Station at = target; at != null; at = previous.get(at)) {
-            path.add(at);
+    // All vertices within the given distance (inclusive) of the source with their distances, in the order of
+    // their distance. Uses the pooled buffers of the other searches, only the result arrays are allocated
+    public static <V> Isochrone reachableWithin(AbstractWeightedGraph<V> graph, int source, double budget) {
+        if (budget < 0 || Double.isNaN(budget)) {
+            throw new IllegalArgumentException("The distance budget cannot be negative.");
+        }
+        Workspace workspace = acquire();
+        try {
+            return workspace.searchWithin(graph, source, budget);
+        } finally {
+            WORKSPACES.offer(workspace);
         }
-        Collections.reverse(path);
+    }
 
-        return path;
+    public static Isochrone reachableWithin(AbstractWeightedGraph<Station> graph, Station source, double budget) {
+        return reachableWithin(graph, graph.getIndex(source), budget);
     }
 
+    // Read only view of the queue for the trace listener, it reads the heap only when asked
+    private static final class TraceQueue implements DijkstraTraceListener.Queue {
+        private final AbstractWeightedGraph<Station> graph;
+        private final SearchState state;
+        private final Workspace workspace;
 
+        TraceQueue(AbstractWeightedGraph<Station> graph, SearchState state, Workspace workspace) {
+            this.graph = graph;
+            this.state = state;
+            this.workspace = workspace;
+        }
 
+        @Override
+        public int size() {
+            return workspace.heap.getSize();
+        }
+
+        @Override
+        public Station stationAt(int position) {
+            return graph.vertexAt(workspace.heap.get(position));
+        }
+
+        @Override
+        public double distanceAt(int position) {
+            return state.distance(workspace.heap.get(position));
+        }
+
+        @Override
+        public Station previousAt(int position) {
+            int parent = state.parent(workspace.heap.get(position));
+            return parent != -1 ? graph.vertexAt(parent) : null;
+        }
+    }
+
+    // Distances from the vertex at the given index to every vertex of the graph (indexed the same way),
+    // positive infinity for the vertices that cannot be reached
+    public static <V> double[] distancesFrom(AbstractWeightedGraph<V> graph, int source) {
+        double[] distances = new double[graph.getVertexCount()];
+        Arrays.fill(distances, Double.POSITIVE_INFINITY);
+        IndexedMinHeap heap = new IndexedMinHeap(distances.length);
+        distances[source] = 0;
+        heap.insert(source, 0);
+
+        while (!heap.isEmpty()) {
+            double distance = heap.peekKey();
+            int current = heap.pop();
+            graph.forEachNeighbour(current, (target, weight) -> {
+                if (distance + weight < distances[target]) {
+                    distances[target] = distance + weight;
+                    heap.insertOrDecrease(target, distance + weight);
+                }
+            });
+        }
+        return distances;
+    }
 
   //You Can uncomment the main method and test the functionality of the dijkstra algorithm within the class if you wish to
 
@@ -83,10 +252,11 @@ public class DijkstraAlgorithm {
         List<Track> tracks = Track.readFromCSV("resources/tracks.csv");
 
         WeightedMatrixGraph<Station> graph = new WeightedMatrixGraph<>(false, stations.toArray(new Station[0]));
+        StationRegistry registry = new StationRegistry(stations);
 
         for (Track track : tracks) {
-            Station from = stations.stream().filter(station -> station.getCode().equalsIgnoreCase(track.getCode())).findFirst().orElse(null);
-            Station to = stations.stream().filter(station -> station.getCode().equalsIgnoreCase(track.getNextCode())).findFirst().orElse(null);
+            Station from = registry.get(track.getCode());
+            Station to = registry.get(track.getNextCode());
             if (from != null && to != null) {
                 graph.connect(from, to, track.getDistanceTo());
                 System.out.println("Connected: " + from.getName() + " to " + to.getName());
@@ -99,8 +269,8 @@ public class DijkstraAlgorithm {
         System.out.println("Enter end station code (only All uppercase letters allowed):");
         String endCode = scanner.nextLine().toUpperCase();
 
-        Station startStation = stations.stream().filter(station -> station.getCode().equals(startCode)).findFirst().orElse(null);
-        Station endStation = stations.stream().filter(station -> station.getCode().equals(endCode)).findFirst().orElse(null);
+        Station startStation = registry.get(startCode);
+        Station endStation = registry.get(endCode);
 
         if (startStation == null || endStation == null) {
             System.out.println("Invalid station code(s) provided.");
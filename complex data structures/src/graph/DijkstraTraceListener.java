@@ -0,0 +1,33 @@
+package graph;
+
+import model.Station;
+
+/**
+ * Optional hook into DijkstraAlgorithm.findShortestPath for following the search step by step, for example to
+ * compare it with the examples of the lectures. The search only calls it when a listener is passed, so the
+ * normal search does no tracing work at all.
+ */
+public interface DijkstraTraceListener {
+
+    /**
+     * Called every time a station is taken from the queue, in the order they are visited. previous is null for the
+     * source. The queue is only valid during the call and only costs something when it is read.
+     */
+    void visited(Station station, double distance, Station previous, Queue queue);
+
+    // Called once after the search, reached tells whether the target could be reached
+    default void finished(boolean reached) {
+    }
+
+    // The stations still waiting in the queue right after a visit, in the internal order of the heap
+    interface Queue {
+        int size();
+
+        Station stationAt(int position);
+
+        double distanceAt(int position);
+
+        // Station the best path so far arrives from, null for the source
+        Station previousAt(int position);
+    }
+}
@@ -0,0 +1,56 @@
+package graph;
+
+import model.Station;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Trace listener that prints the visit order and the queue after every visit, one line per visited station
+ * such as "B(1.0,A) | C(3.0,B) /D(4.0,B) ". Like the original search it only prints when the target was reached.
+ */
+public class DijkstraTracePrinter implements DijkstraTraceListener {
+
+    private final PrintStream out;
+    private final List<String> lines = new ArrayList<>();
+
+    public DijkstraTracePrinter() {
+        this(System.out);
+    }
+
+    public DijkstraTracePrinter(PrintStream out) {
+        this.out = out;
+    }
+
+    @Override
+    public void visited(Station station, double distance, Station previous, Queue queue) {
+        StringBuilder line = new StringBuilder();
+        describe(line, station, distance, previous);
+        line.append(" | ");
+        for (int i = 0; i < queue.size(); i++) {
+            describe(line, queue.stationAt(i), queue.distanceAt(i), queue.previousAt(i));
+            line.append(" /");
+        }
+        if (queue.size() > 0) {
+            line.setLength(line.length() - 1); // drops the last separator but keeps its space, like the original
+        }
+        lines.add(line.toString());
+    }
+
+    @Override
+    public void finished(boolean reached) {
+        if (reached) {
+            for (String line : lines) {
+                out.println(line);
+            }
+        }
+        lines.clear();
+    }
+
+    // Name, distance and previous station, for example B(1.0,A)
+    private static void describe(StringBuilder line, Station station, double distance, Station previous) {
+        line.append(station.getName()).append('(').append(distance).append(',')
+                .append(previous != null ? previous.getName() : "-").append(')');
+    }
+}
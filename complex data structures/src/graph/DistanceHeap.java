@@ -0,0 +1,69 @@
+package graph;
+
+import java.util.Arrays;
+
+// Binary min heap of (vertex, distance) pairs in two primitive arrays. A vertex is pushed again when its
+// distance improves and the outdated entries are skipped when they are popped
+final class DistanceHeap {
+    private int[] vertices = new int[16];
+    private double[] keys = new double[16];
+    private int size;
+
+    void clear() {
+        size = 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    double peekKey() {
+        return keys[0];
+    }
+
+    void push(int vertex, double key) {
+        if (size == vertices.length) {
+            vertices = Arrays.copyOf(vertices, size * 2);
+            keys = Arrays.copyOf(keys, size * 2);
+        }
+        int i = size++;
+        while (i > 0) {
+            int parent = (i - 1) / 2;
+            if (keys[parent] <= key) {
+                break;
+            }
+            vertices[i] = vertices[parent];
+            keys[i] = keys[parent];
+            i = parent;
+        }
+        vertices[i] = vertex;
+        keys[i] = key;
+    }
+
+    int pop() {
+        int result = vertices[0];
+        size--;
+        int lastVertex = vertices[size];
+        double lastKey = keys[size];
+        int i = 0;
+        while (2 * i + 1 < size) {
+            int child = 2 * i + 1;
+            if (child + 1 < size && keys[child + 1] < keys[child]) {
+                child++;
+            }
+            if (keys[child] >= lastKey) {
+                break;
+            }
+            vertices[i] = vertices[child];
+            keys[i] = keys[child];
+            i = child;
+        }
+        vertices[i] = lastVertex;
+        keys[i] = lastKey;
+        return result;
+    }
+}
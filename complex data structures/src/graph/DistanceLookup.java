@@ -0,0 +1,88 @@
+package graph;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Distance lookups that read the precomputed DistanceTable when it can be used and otherwise search live with
+ * the AStarPathFinding. The table is not used when the file is missing or unreadable, has another format
+ * version or was computed for another network (isUsingTable tells which one answers).
+ *
+ * Like for the RouteCache the network behind the path finding must not be changed. When the network changes it
+ * is rebuilt, and rebuild hands the lookup the path finding of the new network and bumps its network version.
+ * The table of the old network is dropped then, unless a table file computed for the new network is given.
+ * All methods can be called from several threads.
+ */
+public class DistanceLookup {
+
+    private AStarPathFinding pathFinder;
+    private DistanceTable table;
+    private long networkVersion;
+
+    // Loads the table from the given file, falling back to live searches when it cannot be used
+    public DistanceLookup(AStarPathFinding pathFinder, Path tableFile) {
+        this(pathFinder, tryLoad(tableFile, pathFinder.getNetwork()));
+    }
+
+    // Uses the given table, which may be null to always search live
+    public DistanceLookup(AStarPathFinding pathFinder, DistanceTable table) {
+        this.pathFinder = pathFinder;
+        this.table = table;
+    }
+
+    private static DistanceTable tryLoad(Path tableFile, RouteNetwork network) {
+        try {
+            return DistanceTable.load(tableFile, network);
+        } catch (IOException | DistanceTable.IncompatibleTableException e) {
+            return null;
+        }
+    }
+
+    // Continues with the path finding of a rebuilt network and searches live, the old table is dropped
+    public synchronized void rebuild(AStarPathFinding pathFinder) {
+        this.pathFinder = pathFinder;
+        table = null;
+        networkVersion++;
+    }
+
+    // Continues with the path finding of a rebuilt network and the table in the file when it was computed for it
+    public void rebuild(AStarPathFinding pathFinder, Path tableFile) {
+        DistanceTable loaded = tryLoad(tableFile, pathFinder.getNetwork());
+        synchronized (this) {
+            this.pathFinder = pathFinder;
+            table = loaded;
+            networkVersion++;
+        }
+    }
+
+    // Number of times the network was rebuilt, 0 for the network the lookup was created with
+    public synchronized long getNetworkVersion() {
+        return networkVersion;
+    }
+
+    // True while the lookups are answered from the table
+    public synchronized boolean isUsingTable() {
+        return table != null;
+    }
+
+    // Distance between the stations with the given codes, positive infinity when there is no path.
+    // Throws an IllegalArgumentException for unknown codes
+    public double distance(String fromCode, String toCode) {
+        AStarPathFinding finder;
+        DistanceTable current;
+        synchronized (this) {
+            finder = pathFinder;
+            current = table;
+        }
+        if (current != null) {
+            return current.distance(fromCode, toCode);
+        }
+        RouteNetwork network = finder.getNetwork();
+        if (network.findStation(fromCode) == null || network.findStation(toCode) == null) {
+            throw new IllegalArgumentException("Station not present in the network: "
+                    + (network.findStation(fromCode) == null ? fromCode : toCode));
+        }
+        Route route = finder.findRoute(fromCode, toCode);
+        return route == null ? Double.POSITIVE_INFINITY : route.getTotalWeight();
+    }
+}
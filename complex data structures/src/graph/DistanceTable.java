@@ -0,0 +1,246 @@
+package graph;
+
+import model.Station;
+import model.Track;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * All pairs shortest distances of a network in one table, so a distance lookup is a single read. For the 578
+ * stations of stations.csv the table takes 578 * 578 doubles, about 2.6 MB.
+ *
+ * compute runs a Dijkstra from every station in parallel. write stores the table in a binary file:
+ *  - a header of 24 bytes: magic number, format version, number of stations and a fingerprint of the graph
+ *  - the distances row by row as doubles, positive infinity when there is no path.
+ * load memory maps such a file, so starting up does not read or copy the table. The fingerprint covers the
+ * station codes in vertex order and every connection with its weight, so a table of another or a changed
+ * network is rejected instead of giving wrong distances. DistanceLookup falls back to a live search then.
+ *
+ * A Java array or buffer holds at most 2^31 - 1 values, and a table of more than about 46,000 stations has more
+ * distances than that. The table is therefore stored as segments of whole rows, each small enough to be one
+ * array or one memory mapping, and file offsets are computed as long. Only a station count whose single row does
+ * not fit in a segment is rejected.
+ */
+public class DistanceTable {
+
+    static final int MAGIC = 0x544D4454; // "TMDT"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 24;
+    // Most doubles in one segment, so a segment fits in one DoubleBuffer and its bytes in one memory mapping
+    static final int MAX_SEGMENT_DOUBLES = Integer.MAX_VALUE / Double.BYTES;
+    private static final int WRITE_BUFFER_BYTES = 1 << 16; // a multiple of 8, so the doubles fill it exactly
+
+    private final RouteNetwork network;
+    // rowsPerSegment rows per segment, on the heap after compute, memory mapped after load
+    private final DoubleBuffer[] segments;
+    private final int rowsPerSegment;
+    private final int stationCount;
+    private final long fingerprint;
+
+    private DistanceTable(RouteNetwork network, DoubleBuffer[] segments, long fingerprint) {
+        this.network = network;
+        this.segments = segments;
+        this.stationCount = network.getStationCount();
+        this.rowsPerSegment = rowsPerSegment(stationCount);
+        this.fingerprint = fingerprint;
+    }
+
+    // Number of rows that fit in one segment. Throws an IllegalArgumentException when not even one row fits
+    static int rowsPerSegment(int stationCount) {
+        if (stationCount > MAX_SEGMENT_DOUBLES) {
+            throw new IllegalArgumentException("A distance table cannot address " + stationCount
+                    + " stations, one row may hold at most " + MAX_SEGMENT_DOUBLES + ".");
+        }
+        return stationCount == 0 ? 1 : MAX_SEGMENT_DOUBLES / stationCount;
+    }
+
+    // Computes the table with one single source search per station, spread over the common fork join pool.
+    // Throws an IllegalArgumentException for a network whose table cannot be addressed
+    public static DistanceTable compute(RouteNetwork network) {
+        AbstractWeightedGraph<Station> graph = network.getGraph();
+        int n = graph.getVertexCount();
+        int rows = rowsPerSegment(n);
+        double[][] table = new double[(n + rows - 1) / rows][];
+        for (int segment = 0; segment < table.length; segment++) {
+            table[segment] = new double[Math.min(rows, n - segment * rows) * n];
+        }
+        IntStream.range(0, n).parallel().forEach(source ->
+                System.arraycopy(DijkstraAlgorithm.distancesFrom(graph, source), 0,
+                        table[source / rows], (source % rows) * n, n));
+        DoubleBuffer[] segments = new DoubleBuffer[table.length];
+        for (int segment = 0; segment < table.length; segment++) {
+            segments[segment] = DoubleBuffer.wrap(table[segment]);
+        }
+        return new DistanceTable(network, segments, fingerprint(graph));
+    }
+
+    // Memory maps a table written by write. Throws an IncompatibleTableException when the file has another format
+    // version or was computed for another network
+    public static DistanceTable load(Path file, RouteNetwork network) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_BYTES) {
+                throw new IOException("Not a distance table: " + file);
+            }
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES);
+            if (header.getInt() != MAGIC) {
+                throw new IOException("Not a distance table: " + file);
+            }
+            int version = header.getInt();
+            if (version != VERSION) {
+                throw new IncompatibleTableException("Distance table has version " + version
+                        + " instead of " + VERSION + ".");
+            }
+            int count = header.getInt();
+            header.getInt(); // padding, keeps the distances aligned to 8 bytes
+            long storedFingerprint = header.getLong();
+            long expected = fingerprint(network.getGraph());
+            if (count != network.getStationCount() || storedFingerprint != expected) {
+                throw new IncompatibleTableException("Distance table was computed for another network.");
+            }
+            long size = (long) count * count * Double.BYTES;
+            if (channel.size() < HEADER_BYTES + size) {
+                throw new IOException("Distance table is truncated: " + file);
+            }
+            // one mapping per segment, the mappings stay valid after the channel is closed
+            int rows = rowsPerSegment(count);
+            DoubleBuffer[] segments = new DoubleBuffer[(count + rows - 1) / rows];
+            for (int segment = 0; segment < segments.length; segment++) {
+                long offset = HEADER_BYTES + (long) segment * rows * count * Double.BYTES;
+                long bytes = (long) Math.min(rows, count - segment * rows) * count * Double.BYTES;
+                segments[segment] = channel.map(FileChannel.MapMode.READ_ONLY, offset, bytes).asDoubleBuffer();
+            }
+            return new DistanceTable(network, segments, storedFingerprint);
+        }
+    }
+
+    // Writes the table to a temporary file next to the given one and then moves it in place, so a crash while
+    // writing never leaves a half written table behind. The temporary file is deleted when writing fails
+    public void write(Path file) throws IOException {
+        Path directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temporary = Files.createTempFile(directory, "distances", ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = ByteBuffer.allocate(WRITE_BUFFER_BYTES);
+                buffer.putInt(MAGIC).putInt(VERSION).putInt(stationCount).putInt(0).putLong(fingerprint);
+                for (int row = 0; row < stationCount; row++) {
+                    for (int column = 0; column < stationCount; column++) {
+                        if (!buffer.hasRemaining()) {
+                            flush(buffer, channel);
+                        }
+                        buffer.putDouble(distance(row, column));
+                    }
+                }
+                flush(buffer, channel);
+            }
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temporary);
+            throw e;
+        }
+    }
+
+    private static void flush(ByteBuffer buffer, FileChannel channel) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    // Distance between the vertices at the given indices, positive infinity when there is no path
+    public double distance(int from, int to) {
+        return segments[from / rowsPerSegment].get((from % rowsPerSegment) * stationCount + to);
+    }
+
+    // Distance between the stations with the given codes. Throws an IllegalArgumentException for unknown codes
+    public double distance(String fromCode, String toCode) {
+        return distance(resolve(fromCode), resolve(toCode));
+    }
+
+    private int resolve(String code) {
+        int index = network.indexOf(code);
+        if (index == -1) {
+            throw new IllegalArgumentException("Station not present in the network: " + code);
+        }
+        return index;
+    }
+
+    public RouteNetwork getNetwork() {
+        return network;
+    }
+
+    public long getFingerprint() {
+        return fingerprint;
+    }
+
+    // Hash of the station codes in vertex order and of every connection with its weight (64 bit FNV-1a)
+    public static long fingerprint(AbstractWeightedGraph<Station> graph) {
+        Fingerprint hash = new Fingerprint();
+        hash.add(graph.isDirected() ? 1 : 0);
+        hash.add(graph.getVertexCount());
+        for (int v = 0; v < graph.getVertexCount(); v++) {
+            String code = graph.vertexAt(v).getCode().trim().toLowerCase();
+            for (int i = 0; i < code.length(); i++) {
+                hash.add(code.charAt(i));
+            }
+            hash.add(-1);
+        }
+        for (int v = 0; v < graph.getVertexCount(); v++) {
+            hash.add(v);
+            graph.forEachNeighbour(v, hash);
+        }
+        return hash.value;
+    }
+
+    // A readable table file that cannot be used for the network: another format version or another network
+    public static final class IncompatibleTableException extends IllegalStateException {
+        private static final long serialVersionUID = 1L;
+
+        IncompatibleTableException(String message) {
+            super(message);
+        }
+    }
+
+    private static final class Fingerprint implements IntDoubleConsumer {
+        private long value = 0xCBF29CE484222325L;
+
+        void add(long data) {
+            for (int i = 0; i < 8; i++) {
+                value ^= (data >>> (i * 8)) & 0xFF;
+                value *= 0x100000001B3L;
+            }
+        }
+
+        @Override
+        public void accept(int target, double weight) {
+            add(target);
+            add(Double.doubleToLongBits(weight));
+        }
+    }
+
+    // Precomputation job: computes the table of resources/stations.csv and resources/tracks.csv and writes it to
+    // the file given as argument (resources/distances.bin by default). Run from the project root
+    public static void main(String[] args) throws IOException {
+        Path file = Paths.get(args.length > 0 ? args[0] : "resources/distances.bin");
+        List<Station> stations = Station.convertToList(Station.readFromCSV("resources/stations.csv"));
+        List<Track> tracks = Track.readFromCSV("resources/tracks.csv");
+        RouteNetwork network = new RouteNetwork(stations, tracks);
+
+        long start = System.nanoTime();
+        DistanceTable table = compute(network);
+        table.write(file);
+        System.out.printf("Wrote the distances of %d stations to %s in %.1f ms%n",
+                network.getStationCount(), file, (System.nanoTime() - start) / 1e6);
+    }
+}
@@ -0,0 +1,51 @@
+package graph;
+
+/**
+ * A connection of a spanning tree: the indices of its two vertices in the graph and its weight. Use
+ * AbstractWeightedGraph.vertexAt for the stations themselves.
+ */
+public final class Edge {
+    private final int from;
+    private final int to;
+    private final double weight;
+
+    public Edge(int from, int to, double weight) {
+        this.from = from;
+        this.to = to;
+        this.weight = weight;
+    }
+
+    public int getFrom() {
+        return from;
+    }
+
+    public int getTo() {
+        return to;
+    }
+
+    public double getWeight() {
+        return weight;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Edge)) {
+            return false;
+        }
+        Edge edge = (Edge) o;
+        return from == edge.from && to == edge.to && Double.compare(weight, edge.weight) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * from + to) + Double.hashCode(weight);
+    }
+
+    @Override
+    public String toString() {
+        return from + " - " + to + " (" + weight + ")";
+    }
+}
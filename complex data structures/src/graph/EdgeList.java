@@ -0,0 +1,66 @@
+package graph;
+
+import java.util.Arrays;
+
+// Every connection of an undirected graph once (from < to) in three parallel arrays, the input of the Kruskal
+// and Boruvka spanning trees
+final class EdgeList {
+    final int[] from;
+    final int[] to;
+    final double[] weights;
+    final int size;
+
+    private EdgeList(int[] from, int[] to, double[] weights, int size) {
+        this.from = from;
+        this.to = to;
+        this.weights = weights;
+        this.size = size;
+    }
+
+    static EdgeList of(AbstractWeightedGraph<?> graph) {
+        if (graph.isDirected()) {
+            throw new IllegalArgumentException("A minimum spanning tree needs an undirected graph.");
+        }
+        Collector collector = new Collector();
+        for (int v = 0; v < graph.getVertexCount(); v++) {
+            collector.vertex = v;
+            graph.forEachNeighbour(v, collector);
+        }
+        return new EdgeList(collector.from, collector.to, collector.weights, collector.size);
+    }
+
+    // Whether every weight is a whole number that fits in an int, so the weights can be radix sorted as ints
+    boolean hasIntWeights() {
+        for (int i = 0; i < size; i++) {
+            double weight = weights[i];
+            if (weight != Math.rint(weight) || weight < Integer.MIN_VALUE || weight > Integer.MAX_VALUE) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static final class Collector implements IntDoubleConsumer {
+        private int[] from = new int[16];
+        private int[] to = new int[16];
+        private double[] weights = new double[16];
+        private int size;
+        private int vertex;
+
+        @Override
+        public void accept(int target, double weight) {
+            // an undirected graph reports every connection from both ends
+            if (vertex >= target) {
+                return;
+            }
+            if (size == from.length) {
+                from = Arrays.copyOf(from, size * 2);
+                to = Arrays.copyOf(to, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            from[size] = vertex;
+            to[size] = target;
+            weights[size++] = weight;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package graph;
+
+// Approximate access counts of keys in a fixed amount of memory (a count-min sketch with 4 rows of 4 bit
+// counters). Every counter is halved after a number of increments, so old popularity fades out and recently
+// popular keys can win. Used for the frequency based admission of the RouteCache, not thread safe on its own.
+final class FrequencySketch {
+    private static final int DEPTH = 4;
+    private static final int MAX_COUNT = 15;
+    private static final int[] SEEDS = {0x9E3779B9, 0x85EBCA6B, 0xC2B2AE35, 0x27D4EB2F};
+
+    private final byte[][] counters;
+    private final int mask;
+    private final int resetAfter;
+    private int increments;
+
+    FrequencySketch(int expectedKeys) {
+        int width = Integer.highestOneBit(Math.max(16, expectedKeys * 4) - 1) << 1;
+        counters = new byte[DEPTH][width];
+        mask = width - 1;
+        resetAfter = Math.max(16, expectedKeys * 10);
+    }
+
+    void increment(Object key) {
+        int hash = spread(key.hashCode());
+        for (int row = 0; row < DEPTH; row++) {
+            int column = index(hash, row);
+            if (counters[row][column] < MAX_COUNT) {
+                counters[row][column]++;
+            }
+        }
+        if (++increments >= resetAfter) {
+            halve();
+        }
+    }
+
+    // Estimated count of the key, never less than the real count since the last halving
+    int frequency(Object key) {
+        int hash = spread(key.hashCode());
+        int frequency = MAX_COUNT;
+        for (int row = 0; row < DEPTH; row++) {
+            frequency = Math.min(frequency, counters[row][index(hash, row)]);
+        }
+        return frequency;
+    }
+
+    private void halve() {
+        for (byte[] row : counters) {
+            for (int i = 0; i < row.length; i++) {
+                row[i] >>= 1;
+            }
+        }
+        increments /= 2;
+    }
+
+    private int index(int hash, int row) {
+        int h = hash * SEEDS[row];
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    private static int spread(int hash) {
+        hash ^= hash >>> 16;
+        hash *= 0x45D9F3B;
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -6,4 +6,8 @@ public interface Graph<V> {
     boolean areConnected(V vertex1, V vertex2);
     Iterable<V> getConnectedNeighbours(V vertex);
     boolean contains(V vertex);
+
+    // Passes the index and weight of every connection of the vertex at the given index to the consumer,
+    // without allocating anything per call
+    void forEachNeighbour(int vertex, IntDoubleConsumer consumer);
 }
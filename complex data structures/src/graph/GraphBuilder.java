@@ -0,0 +1,68 @@
+package graph;
+
+import model.Station;
+import model.StationRegistry;
+import model.Track;
+
+import java.util.List;
+
+/**
+ * Builds the graph of the railway network from all stations and tracks in one pass.
+ *
+ * The track codes are resolved to station indices once with a StationRegistry, after which the storage of the
+ * graph is allocated a single time with its final size. This replaces adding the stations one by one
+ * with addVertex, which copies the whole matrix for every station (O(V^3) for the network).
+ */
+public class GraphBuilder {
+
+    private final List<Station> stations;
+    private final StationRegistry registry;
+    private final int[] from;
+    private final int[] to;
+    private final double[] weights;
+    private int edgeCount;
+
+    public GraphBuilder(List<Station> stations, List<Track> tracks) {
+        this.stations = stations;
+        this.registry = new StationRegistry(stations);
+
+        from = new int[tracks.size()];
+        to = new int[tracks.size()];
+        weights = new double[tracks.size()];
+        for (Track track : tracks) {
+            int fromIndex = registry.indexOf(track.getCode());
+            int toIndex = registry.indexOf(track.getNextCode());
+            // tracks to stations that are not part of the given list are skipped, just like before
+            if (fromIndex != -1 && toIndex != -1) {
+                from[edgeCount] = fromIndex;
+                to[edgeCount] = toIndex;
+                weights[edgeCount] = track.getDistanceTo();
+                edgeCount++;
+            }
+        }
+    }
+
+    // The stations by code, UIC number and id, positioned like the vertices of the built graphs
+    public StationRegistry getRegistry() {
+        return registry;
+    }
+
+    // Number of tracks of which both stations were found
+    public int getEdgeCount() {
+        return edgeCount;
+    }
+
+    // Builds the immutable compressed sparse row graph, O(V + E) time and memory
+    public CompressedSparseRowGraph<Station> build(boolean directed) {
+        return new CompressedSparseRowGraph<>(directed, stations, from, to, weights, edgeCount);
+    }
+
+    // Builds a matrix graph for callers that still need to change the graph afterwards, the matrix is allocated once
+    public WeightedMatrixGraph<Station> buildMatrixGraph(boolean directed) {
+        WeightedMatrixGraph<Station> graph = new WeightedMatrixGraph<>(directed, stations);
+        for (int e = 0; e < edgeCount; e++) {
+            graph.connectByIndex(from[e], to[e], weights[e]);
+        }
+        return graph;
+    }
+}
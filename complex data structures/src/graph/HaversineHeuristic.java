@@ -0,0 +1,117 @@
+package graph;
+
+import model.GreatCircle;
+import model.Station;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Great circle (haversine) distance in km, multiplied by a ratio of track km per straight line km.
+ *
+ * Calibrating that ratio on tracks.csv needs some care. Tracks are normally a bit longer than the straight line
+ * between their stations, but the lengths are rounded to whole km (there are 0 km tracks between stations that
+ * are 2 km apart) and a few foreign stations have coordinates that do not match their track lengths. The plain
+ * minimum over all tracks is therefore 0, which would turn the heuristic off. Instead calibrated:
+ *  - takes a robust minimum of the ratio, the 5th percentile over the tracks of at least 10 km, and
+ *  - computes a slack per station: the largest amount by which ratio * straight line exceeds the real track
+ *    distance from that station to any other station.
+ * The estimate ratio * straight(v, goal) - min(slack(v), slack(goal)) can then never exceed the real distance,
+ * so it stays admissible while the outliers only weaken the estimates of the stations they concern.
+ */
+public class HaversineHeuristic implements Heuristic {
+
+    private static final double CALIBRATION_MIN_KM = 10.0;
+    private static final double CALIBRATION_PERCENTILE = 0.05;
+
+    private final double ratio;
+    private final boolean directed;
+    private final double[] latitudes;  // in radians
+    private final double[] longitudes; // in radians
+    private final double[] cosLatitudes;
+    private final double[] slack;
+
+    // Plain scaled distance, only admissible when no track is shorter than ratio times its straight line
+    public HaversineHeuristic(AbstractWeightedGraph<Station> graph, double ratio) {
+        this(graph, ratio, new double[graph.getVertexCount()]);
+    }
+
+    private HaversineHeuristic(AbstractWeightedGraph<Station> graph, double ratio, double[] slack) {
+        this.ratio = ratio;
+        this.directed = graph.isDirected();
+        this.slack = slack;
+        latitudes = new double[graph.getVertexCount()];
+        longitudes = new double[graph.getVertexCount()];
+        cosLatitudes = new double[graph.getVertexCount()];
+        for (int v = 0; v < latitudes.length; v++) {
+            latitudes[v] = Math.toRadians(graph.vertexAt(v).getGeoLat());
+            longitudes[v] = Math.toRadians(graph.vertexAt(v).getGeoLng());
+            cosLatitudes[v] = Math.cos(latitudes[v]);
+        }
+    }
+
+    /**
+     * Calibrates the ratio and the slack of every station on the graph. The slack needs the distances from every
+     * station, which are computed with one Dijkstra per station in parallel. That is fine for a national network;
+     * for a much larger one the slack should be computed once and stored.
+     */
+    public static HaversineHeuristic calibrated(AbstractWeightedGraph<Station> graph) {
+        HaversineHeuristic scaled = new HaversineHeuristic(graph, calibratedRatio(graph));
+        double[] slack = new double[graph.getVertexCount()];
+        IntStream.range(0, slack.length).parallel().forEach(v -> {
+            double[] distances = DijkstraAlgorithm.distancesFrom(graph, v);
+            double largest = 0;
+            for (int other = 0; other < distances.length; other++) {
+                if (distances[other] != Double.POSITIVE_INFINITY) {
+                    largest = Math.max(largest, scaled.scaledDistance(v, other) - distances[other]);
+                }
+            }
+            slack[v] = largest;
+        });
+        return new HaversineHeuristic(graph, scaled.ratio, slack);
+    }
+
+    // Robust minimum of track km per straight line km over the connections of the graph
+    public static double calibratedRatio(AbstractWeightedGraph<Station> graph) {
+        List<Double> ratios = new ArrayList<>();
+        for (int v = 0; v < graph.getVertexCount(); v++) {
+            Station from = graph.vertexAt(v);
+            graph.forEachNeighbour(v, (target, weight) -> {
+                double straight = GreatCircle.distance(from, graph.vertexAt(target));
+                if (straight >= CALIBRATION_MIN_KM) {
+                    ratios.add(weight / straight);
+                }
+            });
+        }
+        if (ratios.isEmpty()) {
+            return 1.0;
+        }
+        Collections.sort(ratios);
+        return ratios.get((int) (ratios.size() * CALIBRATION_PERCENTILE));
+    }
+
+    private double scaledDistance(int v, int w) {
+        return ratio * GreatCircle.haversine(latitudes[v], longitudes[v], cosLatitudes[v],
+                latitudes[w], longitudes[w], cosLatitudes[w]);
+    }
+
+    public double getRatio() {
+        return ratio;
+    }
+
+    @Override
+    public Estimator forGoal(int goal) {
+        double goalLat = latitudes[goal];
+        double goalLng = longitudes[goal];
+        double goalCos = cosLatitudes[goal];
+        // the slack of the goal bounds the distance from the goal, which is only the same distance when undirected
+        double goalSlack = directed ? Double.POSITIVE_INFINITY : slack[goal];
+        return vertex -> {
+            double estimate = ratio * GreatCircle.haversine(latitudes[vertex], longitudes[vertex], cosLatitudes[vertex],
+                    goalLat, goalLng, goalCos);
+            return Math.max(0, estimate - Math.min(slack[vertex], goalSlack));
+        };
+    }
+}
@@ -0,0 +1,19 @@
+package graph;
+
+/**
+ * Estimate of the remaining distance used by A*. An estimate must never be larger than the real shortest
+ * distance (it must be admissible), otherwise A* can return a longer path.
+ *
+ * A query first binds the heuristic to its goal with forGoal, so everything that only depends on the goal
+ * (its coordinates, its landmark distances, ...) is computed once per query instead of once per relaxation.
+ */
+public interface Heuristic {
+
+    Estimator forGoal(int goal);
+
+    // The heuristic bound to one goal, gives the estimated distance from the vertex at the given index to it
+    @FunctionalInterface
+    interface Estimator {
+        double estimate(int vertex);
+    }
+}
@@ -0,0 +1,221 @@
+package graph;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * View of a part of a graph: the vertices whose bit is set in a mask over the vertex indices of the parent
+ * graph, and every connection of the parent between two of those vertices (the induced subgraph). No vertices
+ * or connections are copied, every lookup goes to the parent, so the view is created in O(n / 64) and the
+ * spanning trees and traversals run on it like on any other graph.
+ *
+ * The vertices of the view are numbered 0 to size - 1 in the order of the parent. Translating between the two
+ * numberings uses the rank of a bit: the set bits before it, which is one popcount per 64 vertices with the
+ * counts per word stored up front.
+ *
+ * The view sees changes of the connections of the parent. The vertices of the parent must not change.
+ */
+public class InducedSubgraph<V> extends AbstractWeightedGraph<V> {
+
+    private final AbstractWeightedGraph<V> parent;
+    private final long[] mask;
+    private final int[] ranks; // number of vertices of the view in the words before every word of the mask
+    private final int size;
+    private final List<V> vertices = new VertexList();
+    // Reused by forEachNeighbour, taken out while in use so nested and concurrent calls get a new one
+    private final AtomicReference<Remap> spareRemap = new AtomicReference<>();
+
+    // The view of the vertices whose bits are set in the mask (bit i % 64 of word i / 64 for vertex index i).
+    // The mask is copied, bits past the last vertex of the parent are ignored
+    public InducedSubgraph(AbstractWeightedGraph<V> parent, long[] mask) {
+        super(List.of());
+        this.parent = parent;
+        int vertexCount = parent.getVertexCount();
+        this.mask = new long[(vertexCount + 63) >>> 6];
+        System.arraycopy(mask, 0, this.mask, 0, Math.min(mask.length, this.mask.length));
+        if ((vertexCount & 63) != 0 && this.mask.length > 0) {
+            this.mask[this.mask.length - 1] &= (1L << (vertexCount & 63)) - 1;
+        }
+        ranks = new int[this.mask.length];
+        int count = 0;
+        for (int word = 0; word < this.mask.length; word++) {
+            ranks[word] = count;
+            count += Long.bitCount(this.mask[word]);
+        }
+        size = count;
+    }
+
+    // The view of the given vertices of the parent. Throws an IllegalArgumentException for a vertex that is not
+    // in the parent
+    public static <V> InducedSubgraph<V> of(AbstractWeightedGraph<V> parent, Collection<V> vertices) {
+        long[] mask = new long[(parent.getVertexCount() + 63) >>> 6];
+        for (V vertex : vertices) {
+            int index = parent.getIndex(vertex);
+            mask[index >>> 6] |= 1L << index;
+        }
+        return new InducedSubgraph<>(parent, mask);
+    }
+
+    public AbstractWeightedGraph<V> getParent() {
+        return parent;
+    }
+
+    // Whether the vertex at the given index of the parent is part of the view
+    public boolean containsParentIndex(int parentIndex) {
+        return (mask[parentIndex >>> 6] & (1L << parentIndex)) != 0;
+    }
+
+    // Index in the view of the vertex at the given index of the parent, -1 when it is not part of the view
+    public int toLocalIndex(int parentIndex) {
+        if (!containsParentIndex(parentIndex)) {
+            return -1;
+        }
+        return rank(parentIndex);
+    }
+
+    // Index in the parent of the vertex at the given index of the view
+    public int toParentIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " is outside the subgraph of size " + size + ".");
+        }
+        // the last word whose rank is not larger than the index holds the vertex
+        int low = 0;
+        int high = ranks.length - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (ranks[mid] <= index) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        long bits = mask[low];
+        for (int skip = index - ranks[low]; skip > 0; skip--) {
+            bits &= bits - 1; // clears the lowest set bit
+        }
+        return (low << 6) + Long.numberOfTrailingZeros(bits);
+    }
+
+    // Number of vertices of the view before the vertex at the given index of the parent
+    private int rank(int parentIndex) {
+        int word = parentIndex >>> 6;
+        return ranks[word] + Long.bitCount(mask[word] & ((1L << parentIndex) - 1));
+    }
+
+    @Override
+    protected List<V> getVertices() {
+        return vertices;
+    }
+
+    @Override
+    protected int getVertexCount() {
+        return size;
+    }
+
+    @Override
+    public V vertexAt(int index) {
+        return parent.vertexAt(toParentIndex(index));
+    }
+
+    @Override
+    public boolean isDirected() {
+        return parent.isDirected();
+    }
+
+    @Override
+    public boolean contains(V vertex) {
+        int index = parent.indexOf(vertex);
+        return index != -1 && containsParentIndex(index);
+    }
+
+    @Override
+    protected int getIndex(V vertex) {
+        int index = parent.indexOf(vertex);
+        if (index == -1 || !containsParentIndex(index)) {
+            throw new IllegalArgumentException("Vertex not present in the graph.");
+        }
+        return rank(index);
+    }
+
+    @Override
+    public boolean areConnected(V vertex1, V vertex2) {
+        return getWeight(vertex1, vertex2) != null;
+    }
+
+    @Override
+    public Double getWeight(V vertex1, V vertex2) {
+        double weight = getWeightByIndex(getIndex(vertex1), getIndex(vertex2));
+        return weight != Double.POSITIVE_INFINITY ? weight : null;
+    }
+
+    @Override
+    public double getWeightByIndex(int index1, int index2) {
+        return parent.getWeightByIndex(toParentIndex(index1), toParentIndex(index2));
+    }
+
+    @Override
+    public int[] getNeighbourIndices(int index) {
+        int count = 0;
+        int[] parentNeighbours = parent.getNeighbourIndices(toParentIndex(index));
+        int[] neighbours = new int[parentNeighbours.length];
+        for (int target : parentNeighbours) {
+            if (containsParentIndex(target)) {
+                neighbours[count++] = rank(target);
+            }
+        }
+        return Arrays.copyOf(neighbours, count);
+    }
+
+    @Override
+    public void forEachNeighbour(int vertex, IntDoubleConsumer consumer) {
+        Remap remap = spareRemap.getAndSet(null);
+        if (remap == null) {
+            remap = new Remap();
+        }
+        remap.consumer = consumer;
+        try {
+            parent.forEachNeighbour(toParentIndex(vertex), remap);
+        } finally {
+            remap.consumer = null;
+            spareRemap.set(remap);
+        }
+    }
+
+    @Override
+    public Iterable<V> getConnectedNeighbours(V vertex) {
+        List<V> neighbours = new ArrayList<>();
+        for (int target : getNeighbourIndices(getIndex(vertex))) {
+            neighbours.add(vertexAt(target));
+        }
+        return neighbours;
+    }
+
+    // Passes the connections of the parent that stay within the view on with the indices of the view
+    private final class Remap implements IntDoubleConsumer {
+        private IntDoubleConsumer consumer;
+
+        @Override
+        public void accept(int target, double weight) {
+            if (containsParentIndex(target)) {
+                consumer.accept(rank(target), weight);
+            }
+        }
+    }
+
+    // The vertices of the view, read from the parent when asked
+    private final class VertexList extends AbstractList<V> {
+        @Override
+        public V get(int index) {
+            return vertexAt(index);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
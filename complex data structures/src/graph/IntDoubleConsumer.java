@@ -0,0 +1,8 @@
+package graph;
+
+// Receives one connection of a vertex: the index of the vertex it leads to and its weight.
+// Used by Graph.forEachNeighbour so the searches can walk the connections without creating a list per vertex
+@FunctionalInterface
+public interface IntDoubleConsumer {
+    void accept(int target, double weight);
+}
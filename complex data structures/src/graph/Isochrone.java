@@ -0,0 +1,52 @@
+package graph;
+
+/**
+ * The stations that can be reached from a source within a distance budget, with their shortest distances, as
+ * returned by DijkstraAlgorithm.reachableWithin. Both arrays are indexed the same way and ordered by distance,
+ * so the source comes first with distance 0. They hold vertex indices of the searched graph; use
+ * AbstractWeightedGraph.vertexAt for the stations themselves.
+ */
+public final class Isochrone {
+
+    private final int source;
+    private final double budget;
+    private final int[] vertices;
+    private final double[] distances;
+
+    Isochrone(int source, double budget, int[] vertices, double[] distances) {
+        this.source = source;
+        this.budget = budget;
+        this.vertices = vertices;
+        this.distances = distances;
+    }
+
+    public int getSource() {
+        return source;
+    }
+
+    public double getBudget() {
+        return budget;
+    }
+
+    // Number of reachable stations, the source included
+    public int size() {
+        return vertices.length;
+    }
+
+    public int vertexAt(int position) {
+        return vertices[position];
+    }
+
+    public double distanceAt(int position) {
+        return distances[position];
+    }
+
+    // Copies of the arrays, so the result itself cannot be changed
+    public int[] getVertices() {
+        return vertices.clone();
+    }
+
+    public double[] getDistances() {
+        return distances.clone();
+    }
+}
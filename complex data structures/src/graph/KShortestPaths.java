@@ -0,0 +1,313 @@
+package graph;
+
+import heap.IndexedMinHeap;
+import model.Station;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * The k shortest loopless routes between two stations (Yen's algorithm), for example alternatives for when a
+ * track is disrupted. The graph itself is never changed or copied; every search of a query masks the stations
+ * and tracks it may not use with stamped arrays that belong to that query.
+ *
+ * Work is shared between the searches of a query:
+ *  - one shortest path tree towards the goal is built per query. Its distances are exact lower bounds for every
+ *    masked search, so they are used as A* heuristic, and the first route is read from the tree directly.
+ *  - a spur search stops as soon as it reaches a station whose tree path to the goal is still allowed, since
+ *    that path is then the shortest rest of the route. Often the spur station itself already qualifies.
+ *  - a new route only spurs from the station where it deviated from the route it was derived from onwards
+ *    (Lawler), the spurs before that point were already searched for that route.
+ *
+ * Only undirected graphs are supported, the tree towards the goal walks the tracks backwards. One instance can
+ * be used by many threads at the same time.
+ */
+public class KShortestPaths {
+
+    private final RouteNetwork network;
+    private final AbstractWeightedGraph<Station> graph;
+    private final Queue<Search> searches = new ConcurrentLinkedQueue<>();
+
+    public KShortestPaths(AbstractWeightedGraph<Station> graph) {
+        this(new RouteNetwork(graph));
+    }
+
+    public KShortestPaths(RouteNetwork network) {
+        if (network.getGraph().isDirected()) {
+            throw new IllegalArgumentException("The k shortest paths are only supported for undirected graphs.");
+        }
+        this.network = network;
+        this.graph = network.getGraph();
+    }
+
+    /**
+     * Up to k loopless routes from the start to the goal station, shortest first. Fewer routes are returned when
+     * there are no more, none when the goal cannot be reached. Throws an IllegalArgumentException for unknown
+     * codes or when k is smaller than 1.
+     */
+    public List<Route> findRoutes(String startCode, String goalCode, int k) {
+        return findRoutes(resolve(startCode), resolve(goalCode), k);
+    }
+
+    public List<Route> findRoutes(Station start, Station goal, int k) {
+        return findRoutes(graph.getIndex(start), graph.getIndex(goal), k);
+    }
+
+    private List<Route> findRoutes(int start, int goal, int k) {
+        if (k < 1) {
+            throw new IllegalArgumentException("At least one route must be asked for.");
+        }
+        Search search = searches.poll();
+        if (search == null) {
+            search = new Search();
+        }
+        try {
+            List<Route> routes = new ArrayList<>();
+            for (Candidate candidate : search.run(start, goal, k)) {
+                List<Station> stations = new ArrayList<>(candidate.path.length);
+                for (int vertex : candidate.path) {
+                    stations.add(graph.vertexAt(vertex));
+                }
+                routes.add(new Route(stations, candidate.cost));
+            }
+            return routes;
+        } finally {
+            searches.offer(search);
+        }
+    }
+
+    private int resolve(String code) {
+        int index = network.indexOf(code);
+        if (index == -1) {
+            throw new IllegalArgumentException("Station not present in the network: " + code);
+        }
+        return index;
+    }
+
+    // A loopless route as vertex indices, with the index of the station where it left the route it came from
+    private static final class Candidate implements Comparable<Candidate> {
+        private final int[] path;
+        private final double cost;
+        private final int deviation;
+
+        Candidate(int[] path, double cost, int deviation) {
+            this.path = path;
+            this.cost = cost;
+            this.deviation = deviation;
+        }
+
+        // Shortest first, then fewest stations, then by the indices so the order is always the same
+        @Override
+        public int compareTo(Candidate other) {
+            if (cost != other.cost) {
+                return Double.compare(cost, other.cost);
+            }
+            if (path.length != other.path.length) {
+                return Integer.compare(path.length, other.path.length);
+            }
+            return Arrays.compare(path, other.path);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Candidate && Arrays.equals(path, ((Candidate) o).path);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(path);
+        }
+    }
+
+    // The buffers of one query, only used by one thread at a time
+    private final class Search implements IntDoubleConsumer {
+        private final int n = graph.getVertexCount();
+        private final double[] treeDistance = new double[n]; // distance to the goal in the unmasked graph
+        private final int[] treeNext = new int[n];           // next station towards the goal, -1 at the goal
+        private final SearchState state = new SearchState();
+        private final IndexedMinHeap heap = new IndexedMinHeap(n);
+
+        // The mask of the current spur search: the stations of the root path and the tracks leaving the spur
+        // station that earlier routes with the same root already use
+        private final int[] removed = new int[n];
+        private int removedGeneration;
+        private int[] blocked = new int[4];
+        private int blockedCount;
+
+        private int goal;
+        private int spur;
+        private int current;
+        private boolean buildingTree;
+
+        List<Candidate> run(int start, int goal, int k) {
+            this.goal = goal;
+            buildTree(goal);
+            List<Candidate> accepted = new ArrayList<>();
+            if (treeDistance[start] == Double.POSITIVE_INFINITY) {
+                return accepted;
+            }
+            accepted.add(new Candidate(treePath(start, new int[0], 0), treeDistance[start], 0));
+            PriorityQueue<Candidate> candidates = new PriorityQueue<>();
+            Set<Candidate> seen = new HashSet<>(accepted);
+
+            while (accepted.size() < k) {
+                Candidate last = accepted.get(accepted.size() - 1);
+                double rootCost = 0;
+                for (int i = 0; i < last.path.length - 1; i++) {
+                    if (i >= last.deviation) {
+                        Candidate candidate = spur(last, i, rootCost, accepted);
+                        if (candidate != null && seen.add(candidate)) {
+                            candidates.add(candidate);
+                        }
+                    }
+                    rootCost += graph.getWeightByIndex(last.path[i], last.path[i + 1]);
+                }
+                if (candidates.isEmpty()) {
+                    break;
+                }
+                accepted.add(candidates.poll());
+            }
+            return accepted;
+        }
+
+        // Shortest route that follows the given route up to index i and then leaves it
+        private Candidate spur(Candidate route, int i, double rootCost, List<Candidate> accepted) {
+            spur = route.path[i];
+            removedGeneration++;
+            for (int j = 0; j < i; j++) {
+                removed[route.path[j]] = removedGeneration;
+            }
+            blockedCount = 0;
+            for (Candidate other : accepted) {
+                if (other.path.length > i + 1 && Arrays.equals(other.path, 0, i + 1, route.path, 0, i + 1)) {
+                    block(other.path[i + 1]);
+                }
+            }
+
+            int[] root = Arrays.copyOf(route.path, i);
+            if (treeAllowed(spur, true)) {
+                return new Candidate(treePath(spur, root, i), rootCost + treeDistance[spur], i);
+            }
+            return searchSpur(root, i, rootCost);
+        }
+
+        // A* from the spur station with the tree distances as heuristic, in the masked graph
+        private Candidate searchSpur(int[] root, int i, double rootCost) {
+            state.start(n);
+            heap.clear();
+            state.update(spur, 0, -1);
+            heap.insert(spur, treeDistance[spur]);
+
+            while (!heap.isEmpty()) {
+                int v = heap.pop();
+                state.close(v);
+                if (v == goal || (v != spur && treeAllowed(v, false))) {
+                    // the rest of the tree path is allowed, so it is the shortest way to the goal from here
+                    int length = 0;
+                    for (int at = v; at != -1; at = state.parent(at)) {
+                        length++;
+                    }
+                    int[] prefix = Arrays.copyOf(root, i + length);
+                    for (int at = v, p = i + length - 1; at != -1; at = state.parent(at), p--) {
+                        prefix[p] = at;
+                    }
+                    return new Candidate(treePath(v, prefix, prefix.length - 1), rootCost + state.distance(v) + treeDistance[v], i);
+                }
+                current = v;
+                graph.forEachNeighbour(v, this);
+            }
+            return null;
+        }
+
+        @Override
+        public void accept(int neighbour, double weight) {
+            if (buildingTree) {
+                double distance = treeDistance[current] + weight;
+                if (distance < treeDistance[neighbour]) {
+                    treeDistance[neighbour] = distance;
+                    treeNext[neighbour] = current;
+                    heap.insertOrDecrease(neighbour, distance);
+                }
+                return;
+            }
+            if (removed[neighbour] == removedGeneration || state.isClosed(neighbour)
+                    || treeDistance[neighbour] == Double.POSITIVE_INFINITY
+                    || (current == spur && isBlocked(neighbour))) {
+                return;
+            }
+            double distance = state.distance(current) + weight;
+            if (distance < state.distance(neighbour)) {
+                state.update(neighbour, distance, current);
+                heap.insertOrDecrease(neighbour, distance + treeDistance[neighbour]);
+            }
+        }
+
+        // Dijkstra from the goal over the whole graph, undirected so these are the distances towards the goal
+        private void buildTree(int goal) {
+            Arrays.fill(treeDistance, Double.POSITIVE_INFINITY);
+            Arrays.fill(treeNext, -1);
+            heap.clear();
+            treeDistance[goal] = 0;
+            heap.insert(goal, 0);
+            buildingTree = true;
+            while (!heap.isEmpty()) {
+                current = heap.pop();
+                graph.forEachNeighbour(current, this);
+            }
+            buildingTree = false;
+        }
+
+        // Whether the tree path from the vertex to the goal avoids the mask and the stations searched so far.
+        // From the spur station itself its first track must not be blocked either
+        private boolean treeAllowed(int vertex, boolean fromSpur) {
+            if (treeDistance[vertex] == Double.POSITIVE_INFINITY) {
+                return false;
+            }
+            if (fromSpur && isBlocked(treeNext[vertex])) {
+                return false;
+            }
+            for (int at = treeNext[vertex]; at != -1; at = treeNext[at]) {
+                if (removed[at] == removedGeneration || (!fromSpur && state.isClosed(at))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // Appends the tree path after position 'last' of prefix (which holds the vertex itself or is empty)
+        private int[] treePath(int vertex, int[] prefix, int last) {
+            int length = 0;
+            for (int at = vertex; at != -1; at = treeNext[at]) {
+                length++;
+            }
+            int start = prefix.length == 0 ? 0 : last;
+            int[] path = Arrays.copyOf(prefix, start + length);
+            for (int at = vertex, p = start; at != -1; at = treeNext[at], p++) {
+                path[p] = at;
+            }
+            return path;
+        }
+
+        private void block(int vertex) {
+            if (blockedCount == blocked.length) {
+                blocked = Arrays.copyOf(blocked, blockedCount * 2);
+            }
+            blocked[blockedCount++] = vertex;
+        }
+
+        private boolean isBlocked(int vertex) {
+            for (int i = 0; i < blockedCount; i++) {
+                if (blocked[i] == vertex) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
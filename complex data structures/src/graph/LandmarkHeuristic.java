@@ -0,0 +1,139 @@
+package graph;
+
+import model.Station;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The ALT heuristic (A*, Landmarks and the Triangle inequality).
+ *
+ * For a few landmark stations the track distance to every station is computed once. For any landmark L the
+ * triangle inequality gives |d(L, goal) - d(L, v)| <= d(v, goal), so the largest of these differences is a lower
+ * bound on the remaining distance in track kilometres. Unlike the distance in degrees it has the same unit as the
+ * weights and is usually close to the real distance, so A* expands far fewer stations.
+ *
+ * The bound uses the distance between landmark and station in both directions, which is only the same distance
+ * on an undirected graph, so directed graphs are not supported.
+ */
+public class LandmarkHeuristic implements Heuristic {
+
+    private final int[] landmarks;
+    private final int landmarkCount;
+    // distances[v * landmarkCount + l] is the distance between vertex v and landmark l, stored per vertex so one
+    // estimate reads two small consecutive blocks of memory
+    private final double[] distances;
+
+    private LandmarkHeuristic(AbstractWeightedGraph<Station> graph, List<Integer> landmarks) {
+        if (graph.isDirected()) {
+            throw new IllegalArgumentException("Landmarks are only supported for undirected graphs.");
+        }
+        this.landmarkCount = landmarks.size();
+        this.landmarks = new int[landmarkCount];
+        this.distances = new double[graph.getVertexCount() * landmarkCount];
+        for (int l = 0; l < landmarkCount; l++) {
+            this.landmarks[l] = landmarks.get(l);
+            double[] fromLandmark = DijkstraAlgorithm.distancesFrom(graph, this.landmarks[l]);
+            for (int v = 0; v < fromLandmark.length; v++) {
+                distances[v * landmarkCount + l] = fromLandmark[v];
+            }
+        }
+    }
+
+    // Picks the landmarks with the farthest point rule: every next landmark is the station farthest away from
+    // the landmarks chosen so far, which spreads them along the edges of the network
+    public static LandmarkHeuristic farthest(AbstractWeightedGraph<Station> graph, int count) {
+        List<Integer> candidates = new ArrayList<>();
+        for (int v = 0; v < graph.getVertexCount(); v++) {
+            candidates.add(v);
+        }
+        return new LandmarkHeuristic(graph, selectFarthest(graph, candidates, count));
+    }
+
+    // Same as farthest, but only stations of the given type (for example knooppuntIntercitystation) can be landmarks
+    public static LandmarkHeuristic ofType(AbstractWeightedGraph<Station> graph, String type, int count) {
+        List<Integer> candidates = new ArrayList<>();
+        for (int v = 0; v < graph.getVertexCount(); v++) {
+            if (graph.vertexAt(v).getType().equalsIgnoreCase(type)) {
+                candidates.add(v);
+            }
+        }
+        if (candidates.isEmpty()) {
+            throw new IllegalArgumentException("No stations of type " + type + " in the graph.");
+        }
+        return new LandmarkHeuristic(graph, selectFarthest(graph, candidates, count));
+    }
+
+    private static List<Integer> selectFarthest(AbstractWeightedGraph<Station> graph, List<Integer> candidates, int count) {
+        if (count < 1) {
+            throw new IllegalArgumentException("At least one landmark is needed.");
+        }
+        // start at the candidate with the most connections, which is a hub of the main part of the network, so
+        // the landmarks are not wasted on a station that is not connected to the rest
+        int start = candidates.get(0);
+        for (int candidate : candidates) {
+            if (graph.getNeighbourIndices(candidate).length > graph.getNeighbourIndices(start).length) {
+                start = candidate;
+            }
+        }
+
+        // distance of every vertex to the nearest landmark so far, for the first landmark that is the start
+        double[] nearest = DijkstraAlgorithm.distancesFrom(graph, start);
+        List<Integer> selected = new ArrayList<>();
+        while (selected.size() < Math.min(count, candidates.size())) {
+            int next = -1;
+            for (int candidate : candidates) {
+                if (!selected.contains(candidate) && (next == -1 || isFarther(nearest[candidate], nearest[next]))) {
+                    next = candidate;
+                }
+            }
+            selected.add(next);
+            double[] fromLandmark = DijkstraAlgorithm.distancesFrom(graph, next);
+            for (int v = 0; v < nearest.length; v++) {
+                nearest[v] = Math.min(nearest[v], fromLandmark[v]);
+            }
+        }
+        return selected;
+    }
+
+    // Stations that cannot be reached at all only come after every reachable one
+    private static boolean isFarther(double distance, double other) {
+        if (distance == Double.POSITIVE_INFINITY || other == Double.POSITIVE_INFINITY) {
+            return other == Double.POSITIVE_INFINITY && distance != Double.POSITIVE_INFINITY;
+        }
+        return distance > other;
+    }
+
+    // Lower bound on the track distance between the vertices at the two indices
+    public double estimate(int vertex, int goal) {
+        return bound(vertex, distances, goal * landmarkCount);
+    }
+
+    @Override
+    public Estimator forGoal(int goal) {
+        // the distances of the goal to the landmarks are copied once per query
+        double[] toGoal = Arrays.copyOfRange(distances, goal * landmarkCount, (goal + 1) * landmarkCount);
+        return vertex -> bound(vertex, toGoal, 0);
+    }
+
+    // Largest triangle inequality bound over the landmarks, with the distances of the goal to the landmarks at
+    // goalOffset in toGoal
+    private double bound(int vertex, double[] toGoal, int goalOffset) {
+        double best = 0;
+        int vertexOffset = vertex * landmarkCount;
+        for (int l = 0; l < landmarkCount; l++) {
+            double toVertex = distances[vertexOffset + l];
+            double fromGoal = toGoal[goalOffset + l];
+            // a landmark that cannot reach one of the two stations says nothing about their distance
+            if (toVertex != Double.POSITIVE_INFINITY && fromGoal != Double.POSITIVE_INFINITY) {
+                best = Math.max(best, Math.abs(fromGoal - toVertex));
+            }
+        }
+        return best;
+    }
+
+    public int[] getLandmarks() {
+        return landmarks.clone();
+    }
+}
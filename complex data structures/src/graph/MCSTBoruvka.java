@@ -0,0 +1,127 @@
+package graph;
+
+import model.Station;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.IntStream;
+
+/**
+ * Minimum spanning tree with Boruvka's algorithm, run in parallel on a fork join pool. Every round finds the
+ * shortest connection leaving each part of the tree built so far and adds all of them at once, so at least
+ * half of the parts merge per round and there are at most log2(n) rounds.
+ *
+ * Finding the shortest connections is the expensive step and runs in parallel over the connections: a
+ * connection between two parts offers itself to both, and the best offer per part is kept with a compare and
+ * set. Connections are ordered by weight and then by their position, so equal weights can never close a cycle.
+ * Merging the parts is sequential but only touches one connection per part.
+ *
+ * Like MCSTKruskal the result is a spanning forest on a disconnected graph.
+ */
+public class MCSTBoruvka {
+    private final AbstractWeightedGraph<Station> graph;
+    private final ForkJoinPool pool;
+    private final List<Edge> edges = new ArrayList<>();
+    private double totalLength;
+    private int componentCount;
+    private int roundCount;
+
+    public MCSTBoruvka(AbstractWeightedGraph<Station> graph) {
+        this(graph, ForkJoinPool.commonPool());
+    }
+
+    public MCSTBoruvka(AbstractWeightedGraph<Station> graph, ForkJoinPool pool) {
+        this.graph = graph;
+        this.pool = pool;
+    }
+
+    public void boruvka() {
+        edges.clear();
+        totalLength = 0;
+        roundCount = 0;
+        EdgeList list = EdgeList.of(graph);
+        int n = graph.getVertexCount();
+        UnionFind components = new UnionFind(n);
+        int[] componentOf = new int[n];
+        for (int v = 0; v < n; v++) {
+            componentOf[v] = v;
+        }
+        AtomicIntegerArray cheapest = new AtomicIntegerArray(n);
+        // connections that may still join two parts, the others are dropped after every round
+        int[] candidates = IntStream.range(0, list.size).toArray();
+
+        while (candidates.length > 0) {
+            roundCount++;
+            for (int c = 0; c < n; c++) {
+                cheapest.set(c, -1);
+            }
+            int[] round = candidates;
+            pool.submit(() -> Arrays.stream(round).parallel().forEach(edge -> {
+                int a = componentOf[list.from[edge]];
+                int b = componentOf[list.to[edge]];
+                if (a != b) {
+                    offer(cheapest, a, edge, list);
+                    offer(cheapest, b, edge, list);
+                }
+            })).join();
+
+            boolean merged = false;
+            for (int c = 0; c < n; c++) {
+                int edge = cheapest.get(c);
+                // both parts may have picked the same connection, the union find adds it once
+                if (edge != -1 && components.union(list.from[edge], list.to[edge])) {
+                    edges.add(new Edge(list.from[edge], list.to[edge], list.weights[edge]));
+                    totalLength += list.weights[edge];
+                    merged = true;
+                }
+            }
+            if (!merged) {
+                break;
+            }
+            for (int v = 0; v < n; v++) {
+                componentOf[v] = components.find(v);
+            }
+            candidates = pool.submit(() -> Arrays.stream(round).parallel()
+                    .filter(edge -> componentOf[list.from[edge]] != componentOf[list.to[edge]])
+                    .toArray()).join();
+        }
+        componentCount = components.getSetCount();
+    }
+
+    // Keeps the edge as the cheapest of the part unless another thread already offered a cheaper one
+    private static void offer(AtomicIntegerArray cheapest, int component, int edge, EdgeList list) {
+        int current = cheapest.get(component);
+        while (current == -1 || lighter(edge, current, list)) {
+            if (cheapest.compareAndSet(component, current, edge)) {
+                return;
+            }
+            current = cheapest.get(component);
+        }
+    }
+
+    private static boolean lighter(int a, int b, EdgeList list) {
+        return list.weights[a] < list.weights[b] || (list.weights[a] == list.weights[b] && a < b);
+    }
+
+    public double calculateTotalLength() {
+        return totalLength;
+    }
+
+    // The connections of the tree, grouped by the round they were added in
+    public List<Edge> getEdges() {
+        return Collections.unmodifiableList(edges);
+    }
+
+    public int getComponentCount() {
+        return componentCount;
+    }
+
+    // Number of rounds of the last run
+    public int getRoundCount() {
+        return roundCount;
+    }
+}
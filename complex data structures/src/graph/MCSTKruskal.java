@@ -0,0 +1,75 @@
+package graph;
+
+import model.Station;
+import sorting.RadixSort;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Minimum spanning tree with Kruskal's algorithm: the connections are radix sorted by weight (the track
+ * distances are whole km, so this takes one or two passes) and added from short to long unless a UnionFind
+ * shows the two stations are already connected by the tree.
+ *
+ * On a disconnected graph the result is a spanning tree per connected part (a spanning forest), like MCSTPrim,
+ * so both have the same total length.
+ */
+public class MCSTKruskal {
+    private final AbstractWeightedGraph<Station> graph;
+    private final List<Edge> edges = new ArrayList<>();
+    private double totalLength;
+    private int componentCount;
+
+    public MCSTKruskal(AbstractWeightedGraph<Station> graph) {
+        this.graph = graph;
+    }
+
+    public void kruskal() {
+        edges.clear();
+        totalLength = 0;
+        EdgeList list = EdgeList.of(graph);
+        int[] order = sortByWeight(list);
+
+        int n = graph.getVertexCount();
+        UnionFind components = new UnionFind(n);
+        for (int i = 0; i < order.length && edges.size() < n - 1; i++) {
+            int edge = order[i];
+            if (components.union(list.from[edge], list.to[edge])) {
+                edges.add(new Edge(list.from[edge], list.to[edge], list.weights[edge]));
+                totalLength += list.weights[edge];
+            }
+        }
+        componentCount = components.getSetCount();
+    }
+
+    // Whole km weights are sorted as ints, other weights by the bits of the double
+    private static int[] sortByWeight(EdgeList list) {
+        if (list.hasIntWeights()) {
+            int[] keys = new int[list.size];
+            for (int i = 0; i < list.size; i++) {
+                keys[i] = (int) list.weights[i];
+            }
+            return RadixSort.sortedIndices(keys);
+        }
+        long[] keys = new long[list.size];
+        for (int i = 0; i < list.size; i++) {
+            keys[i] = RadixSort.sortableKey(list.weights[i]);
+        }
+        return RadixSort.sortedIndices(keys);
+    }
+
+    public double calculateTotalLength() {
+        return totalLength;
+    }
+
+    // The connections of the tree in the order they were added, shortest first
+    public List<Edge> getEdges() {
+        return Collections.unmodifiableList(edges);
+    }
+
+    // Number of connected parts of the graph, 1 when the result is a single tree
+    public int getComponentCount() {
+        return componentCount;
+    }
+}
@@ -1,71 +1,112 @@
 package graph;
 
-import heap.MinHeap;
+import heap.IndexedMinHeap;
 import model.Station;
 
 import java.util.*;
 
 public class MCSTPrim {
-    private final WeightedMatrixGraph<Station> graph;
-    private final Map<Station, Double> key = new HashMap<>();
+    private final AbstractWeightedGraph<Station> graph;
     private final Map<Station, Station> parent = new HashMap<>();
-    private final MinHeap<Station> priorityQueue;
 
-    public MCSTPrim(WeightedMatrixGraph<Station> graph) {
+    // Indexed by vertex: the weight of the cheapest connection to the tree found so far and where it comes from.
+    // The queue is keyed on that weight, so a shorter connection lowers the key in O(log n) (decreaseKey)
+    private double[] key = new double[0];
+    private int[] parentIndex = new int[0];
+    private boolean[] inTree = new boolean[0];
+    private IndexedMinHeap priorityQueue = new IndexedMinHeap(0);
+
+    // Prints the queue after every step like the slides, on by default
+    private boolean printSteps = true;
+
+    // The vertex that was just taken from the queue, its connections are relaxed by relaxNeighbour
+    private int currentVertex;
+    private final IntDoubleConsumer relaxNeighbour = this::relax;
+
+    public MCSTPrim(AbstractWeightedGraph<Station> graph) {
         this.graph = graph;
-        this.priorityQueue = new MinHeap<>(Station.class, graph.getVertices().size());
     }
 
+    public void setPrintSteps(boolean printSteps) {
+        this.printSteps = printSteps;
+    }
+
+    // Builds the tree in O(E log V): every connection lowers a key at most once and every vertex is taken from the
+    // queue once. The tree grows from the start vertex, the parts of the graph that cannot be reached from it get
+    // a tree of their own (a spanning forest), starting from their first vertex
     public void prim(Station startVertex) {
         if (!graph.contains(startVertex)) {
             System.out.println("The starting vertex does not exist in the graph.");
             return;
         }
 
-        for (Station vertex : graph.getVertices()) {
-            key.put(vertex, Double.MAX_VALUE);
-            parent.put(vertex, null);
-            priorityQueue.push(vertex);
-        }
+        int n = graph.getVertexCount();
+        key = new double[n];
+        parentIndex = new int[n];
+        inTree = new boolean[n];
+        Arrays.fill(key, Double.MAX_VALUE);
+        Arrays.fill(parentIndex, -1);
+        priorityQueue = new IndexedMinHeap(n);
 
-        key.put(startVertex, 0.0);
+        if (printSteps) {
+            System.out.println("Prim's displayed:");
+        }
+        grow(graph.getIndex(startVertex));
+        for (int v = 0; v < n; v++) {
+            if (!inTree[v]) {
+                grow(v);
+            }
+        }
 
-        System.out.println("Prim's displayed:");
-        printPriorityQueue();  // Print initial state of the priority queue
+        parent.clear();
+        for (int v = 0; v < n; v++) {
+            parent.put(graph.vertexAt(v), parentIndex[v] != -1 ? graph.vertexAt(parentIndex[v]) : null);
+        }
+    }
 
+    // Grows a tree from the root until no more vertices can be reached. Only reached vertices are in the queue,
+    // the others still have an infinite key
+    private void grow(int root) {
+        key[root] = 0.0;
+        priorityQueue.insert(root, 0.0);
+        if (printSteps) {
+            printPriorityQueue();  // Print initial state of the priority queue
+        }
 
         while (!priorityQueue.isEmpty()) {
-            Station currentVertex = priorityQueue.pop();
-
-            for (Station neighbor : graph.getConnectedNeighbours(currentVertex)) {
-                Double edgeWeight = graph.getWeight(currentVertex, neighbor);
-
-                if (priorityQueue.contains(neighbor) && edgeWeight < key.get(neighbor)) {
-                    parent.put(neighbor, currentVertex);
-                    key.put(neighbor, edgeWeight);
-                    priorityQueue.update(neighbor);
-                }
+            currentVertex = priorityQueue.pop();
+            inTree[currentVertex] = true;
+            graph.forEachNeighbour(currentVertex, relaxNeighbour);
+            if (printSteps) {
+                printPriorityQueue();  // printing the state of the priority queue after each update
             }
-            printPriorityQueue();  // printing the state of the priority queue after each update
+        }
+    }
+
+    private void relax(int neighbour, double edgeWeight) {
+        if (!inTree[neighbour] && edgeWeight < key[neighbour]) {
+            parentIndex[neighbour] = currentVertex;
+            key[neighbour] = edgeWeight;
+            priorityQueue.insertOrDecrease(neighbour, edgeWeight);
         }
     }
 
 
     private void printPriorityQueue() {
         System.out.println("Priority queue:");
-        for (Station station : priorityQueue.getElements()) {
-            String parentCode = (parent.get(station) != null) ? parent.get(station).getCode() : "None"; //Initially all stations except the start vertex have a parent of null because they are not yet part of the tree and thus i show a "none'' string to indicate that.
-            String keyVal = (key.get(station) < Double.MAX_VALUE) ? key.get(station).toString() : "Infinity"; // initially all the stations are considered to be at an infinite distance from the start vertex until they are actually reached by the algorithm thus i show it as a word and not the int value which is confusing
-            System.out.println(station.getCode() + " - " + keyVal + " - " + parentCode);
+        for (int i = 0; i < priorityQueue.getSize(); i++) {
+            int vertex = priorityQueue.get(i);
+            String parentCode = (parentIndex[vertex] != -1) ? graph.vertexAt(parentIndex[vertex]).getCode() : "None"; // the start vertex has no parent and thus i show a "none'' string to indicate that.
+            System.out.println(graph.vertexAt(vertex).getCode() + " - " + key[vertex] + " - " + parentCode);
         }
         System.out.println();
     }
 
     public double calculateTotalLength() {
         double totalLength = 0.0;
-        for (Station station : key.keySet()) {
-            if (key.get(station) < Double.MAX_VALUE) {
-                totalLength += key.get(station);
+        for (int v = 0; v < key.length; v++) {
+            if (inTree[v]) {
+                totalLength += key[v];
             }
         }
         return totalLength;
@@ -76,4 +117,3 @@ public class MCSTPrim {
         return parent;
     }
 }
-
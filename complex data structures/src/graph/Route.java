@@ -0,0 +1,50 @@
+package graph;
+
+import model.Station;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A path through the network together with its total weight (in km). Routes cannot be changed, so one route
+ * can be handed out to many callers, for example from the RouteCache.
+ */
+public final class Route {
+
+    private final List<Station> stations;
+    private final double totalWeight;
+
+    public Route(List<Station> stations, double totalWeight) {
+        this.stations = Collections.unmodifiableList(new ArrayList<>(stations));
+        this.totalWeight = totalWeight;
+    }
+
+    public List<Station> getStations() {
+        return stations;
+    }
+
+    public double getTotalWeight() {
+        return totalWeight;
+    }
+
+    public Station getStart() {
+        return stations.get(0);
+    }
+
+    public Station getGoal() {
+        return stations.get(stations.size() - 1);
+    }
+
+    // The same route travelled the other way, only valid on an undirected graph
+    public Route reversed() {
+        List<Station> reversed = new ArrayList<>(stations);
+        Collections.reverse(reversed);
+        return new Route(reversed, totalWeight);
+    }
+
+    @Override
+    public String toString() {
+        return "Route{stations=" + stations.size() + ", totalWeight=" + totalWeight + '}';
+    }
+}
@@ -0,0 +1,173 @@
+package graph;
+
+import model.Station;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded cache of routes in front of an AStarPathFinding, keyed by the codes of the start and goal station.
+ * A few hundred popular station pairs make up most of the traffic, so they are answered from memory instead of
+ * being searched again. On an undirected graph A to B and B to A share one entry.
+ *
+ * When the cache is full the least recently used route is evicted. With the FREQUENCY policy a new route is only
+ * admitted when its pair was asked for more often recently than the pair of the route it would evict (estimated
+ * with a small FrequencySketch), so a burst of one-off queries cannot push the popular routes out.
+ *
+ * The network behind the path finding must not be changed: A*, its heuristics and the station lookup are all
+ * built for one fixed network. When the network changes it is rebuilt, and rebuild hands the cache the path
+ * finding of the new network. That empties the cache and bumps its network version, so a search that was still
+ * running on the old network cannot store its route anymore. Pairs without a route (unknown codes or stations
+ * that are not connected) are not cached.
+ * All methods can be called from several threads; the search itself runs outside the lock.
+ */
+public class RouteCache {
+
+    public enum EvictionPolicy {
+        LRU,
+        FREQUENCY
+    }
+
+    private AStarPathFinding pathFinder;
+    private long networkVersion;
+    private final int capacity;
+    private final EvictionPolicy policy;
+    private final LinkedHashMap<String, Route> routes;
+    private final FrequencySketch sketch;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public RouteCache(AStarPathFinding pathFinder, int capacity) {
+        this(pathFinder, capacity, EvictionPolicy.LRU);
+    }
+
+    public RouteCache(AStarPathFinding pathFinder, int capacity, EvictionPolicy policy) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("The capacity of the cache must be at least 1.");
+        }
+        this.pathFinder = pathFinder;
+        this.capacity = capacity;
+        this.policy = policy;
+        routes = new LinkedHashMap<>(capacity * 4 / 3 + 1, 0.75f, true); // access order, eldest is least recently used
+        sketch = policy == EvictionPolicy.FREQUENCY ? new FrequencySketch(capacity) : null;
+    }
+
+    // Same result as AStarPathFinding.findPath, null when there is no route
+    public List<Station> findPath(String startCode, String goalCode) {
+        Route route = findRoute(startCode, goalCode);
+        return route == null ? null : route.getStations();
+    }
+
+    public Route findRoute(String startCode, String goalCode) {
+        String start = startCode.trim().toLowerCase();
+        String goal = goalCode.trim().toLowerCase();
+        AStarPathFinding finder;
+        long version;
+        boolean swapped;
+        String key;
+        synchronized (this) {
+            finder = pathFinder;
+            version = networkVersion;
+            // the smaller code comes first, so on an undirected graph both directions use the same key
+            swapped = !finder.getNetwork().getGraph().isDirected() && start.compareTo(goal) > 0;
+            key = swapped ? goal + ' ' + start : start + ' ' + goal;
+            if (sketch != null) {
+                sketch.increment(key);
+            }
+            Route cached = routes.get(key);
+            if (cached != null) {
+                hits.increment();
+                return swapped ? cached.reversed() : cached;
+            }
+        }
+        misses.increment();
+
+        Route route = swapped ? finder.findRoute(goal, start) : finder.findRoute(start, goal);
+        if (route != null) {
+            store(key, route, version);
+        }
+        return route != null && swapped ? route.reversed() : route;
+    }
+
+    private synchronized void store(String key, Route route, long version) {
+        if (version != networkVersion || routes.containsKey(key)) {
+            return; // the network was rebuilt during the search, or another thread stored the route meanwhile
+        }
+        if (routes.size() >= capacity) {
+            Iterator<Map.Entry<String, Route>> eldest = routes.entrySet().iterator();
+            String victim = eldest.next().getKey();
+            if (sketch != null && sketch.frequency(key) <= sketch.frequency(victim)) {
+                return; // not popular enough to replace the least recently used route
+            }
+            eldest.remove();
+            evictions.increment();
+        }
+        routes.put(key, route);
+    }
+
+    // Continues with the path finding of a rebuilt network (with the heuristic built for it) and empties the cache
+    public synchronized void rebuild(AStarPathFinding pathFinder) {
+        if (!routes.isEmpty()) {
+            invalidations.increment();
+        }
+        routes.clear();
+        this.pathFinder = pathFinder;
+        networkVersion++;
+    }
+
+    // Number of times the network was rebuilt, 0 for the network the cache was created with
+    public synchronized long getNetworkVersion() {
+        return networkVersion;
+    }
+
+    // Empties the cache by hand, the counters are kept
+    public synchronized void clear() {
+        routes.clear();
+    }
+
+    public synchronized int size() {
+        return routes.size();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public EvictionPolicy getPolicy() {
+        return policy;
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    // Number of times the cache was emptied because the network was rebuilt
+    public long getInvalidationCount() {
+        return invalidations.sum();
+    }
+
+    public double getHitRate() {
+        long total = hits.sum() + misses.sum();
+        return total == 0 ? 0 : (double) hits.sum() / total;
+    }
+
+    @Override
+    public String toString() {
+        return "RouteCache{policy=" + policy + ", size=" + size() + ", capacity=" + capacity + ", hits=" + getHitCount()
+                + ", misses=" + getMissCount() + ", evictions=" + getEvictionCount() + '}';
+    }
+}
@@ -0,0 +1,69 @@
+package graph;
+
+import model.Station;
+import model.StationRegistry;
+import model.Track;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The loaded rail network that is shared by all route queries: the graph and the StationRegistry of its stations.
+ * Nothing is changed after construction, so any number of threads can read it at the same time. The graph that
+ * is passed in must not be changed anymore either (the CompressedSparseRowGraph of the GraphBuilder cannot be).
+ */
+public final class RouteNetwork {
+
+    private final AbstractWeightedGraph<Station> graph;
+    private final StationRegistry registry; // in vertex order, so its positions are the vertex indices
+
+    // Builds the undirected network of the given stations and tracks in one pass
+    public RouteNetwork(List<Station> stations, List<Track> tracks) {
+        this(new GraphBuilder(stations, tracks));
+    }
+
+    public RouteNetwork(AbstractWeightedGraph<Station> graph) {
+        this(graph, new StationRegistry(verticesOf(graph)));
+    }
+
+    // The registry the builder resolved the tracks with is reused, it already has the vertex order
+    private RouteNetwork(GraphBuilder builder) {
+        this(builder.build(false), builder.getRegistry());
+    }
+
+    private RouteNetwork(AbstractWeightedGraph<Station> graph, StationRegistry registry) {
+        this.graph = graph;
+        this.registry = registry;
+    }
+
+    private static List<Station> verticesOf(AbstractWeightedGraph<Station> graph) {
+        List<Station> vertices = new ArrayList<>(graph.getVertexCount());
+        for (int i = 0; i < graph.getVertexCount(); i++) {
+            vertices.add(graph.vertexAt(i));
+        }
+        return vertices;
+    }
+
+    public AbstractWeightedGraph<Station> getGraph() {
+        return graph;
+    }
+
+    // Lookup of the stations of the network by code, UIC number and id
+    public StationRegistry getRegistry() {
+        return registry;
+    }
+
+    // Station with the given code ignoring case and surrounding spaces, or null when it is not in the network
+    public Station findStation(String code) {
+        return registry.get(code);
+    }
+
+    // Vertex index of the station with the given code, or -1 when it is not in the network
+    public int indexOf(String code) {
+        return registry.indexOf(code);
+    }
+
+    public int getStationCount() {
+        return graph.getVertexCount();
+    }
+}
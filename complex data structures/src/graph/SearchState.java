@@ -0,0 +1,65 @@
+package graph;
+
+import java.util.Arrays;
+
+// Distances, parents and closed flags of one search, indexed by vertex. Instead of resetting every vertex before
+// a search, each search gets a new generation number and an entry only counts when its stamp matches the current
+// generation. Starting a search is therefore O(1) and a search only pays for the vertices it touches.
+// A state is used by one search at a time and reused for the next one.
+final class SearchState {
+    private int[] stamps = new int[0];       // generation in which distance and parent were last written
+    private int[] closedStamps = new int[0]; // generation in which the vertex was closed
+    private double[] distances = new double[0];
+    private int[] parents = new int[0];
+    private int generation;
+
+    // Starts a new search over a graph with the given number of vertices
+    void start(int vertexCount) {
+        if (vertexCount > stamps.length) {
+            stamps = new int[vertexCount];
+            closedStamps = new int[vertexCount];
+            distances = new double[vertexCount];
+            parents = new int[vertexCount];
+            generation = 0;
+        }
+        generation++;
+        if (generation == Integer.MAX_VALUE) {
+            // only after 2^31 searches, the stamps of old searches could otherwise match again
+            Arrays.fill(stamps, 0);
+            Arrays.fill(closedStamps, 0);
+            generation = 1;
+        }
+    }
+
+    boolean isReached(int vertex) {
+        return stamps[vertex] == generation;
+    }
+
+    // Distance found so far, positive infinity when the vertex was not reached in this search
+    double distance(int vertex) {
+        return stamps[vertex] == generation ? distances[vertex] : Double.POSITIVE_INFINITY;
+    }
+
+    // Vertex the best path so far arrives from, -1 for the source and for vertices that were not reached
+    int parent(int vertex) {
+        return stamps[vertex] == generation ? parents[vertex] : -1;
+    }
+
+    void update(int vertex, double distance, int parent) {
+        stamps[vertex] = generation;
+        distances[vertex] = distance;
+        parents[vertex] = parent;
+    }
+
+    boolean isClosed(int vertex) {
+        return closedStamps[vertex] == generation;
+    }
+
+    void close(int vertex) {
+        closedStamps[vertex] = generation;
+    }
+
+    void reopen(int vertex) {
+        closedStamps[vertex] = 0;
+    }
+}
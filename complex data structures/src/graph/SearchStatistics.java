@@ -0,0 +1,40 @@
+package graph;
+
+import java.util.concurrent.atomic.LongAdder;
+
+// Counters of the searches done by a path finder, used to compare heuristics. The counters can be updated
+// from several threads at the same time
+public class SearchStatistics {
+
+    private final LongAdder queries = new LongAdder();
+    private final LongAdder expandedNodes = new LongAdder();
+
+    void record(int expanded) {
+        queries.increment();
+        expandedNodes.add(expanded);
+    }
+
+    public long getQueryCount() {
+        return queries.sum();
+    }
+
+    public long getExpandedNodeCount() {
+        return expandedNodes.sum();
+    }
+
+    public double getAverageExpandedNodes() {
+        long count = queries.sum();
+        return count == 0 ? 0 : (double) expandedNodes.sum() / count;
+    }
+
+    public void reset() {
+        queries.reset();
+        expandedNodes.reset();
+    }
+
+    @Override
+    public String toString() {
+        return "SearchStatistics{queries=" + getQueryCount() + ", expandedNodes=" + getExpandedNodeCount()
+                + ", averageExpandedNodes=" + getAverageExpandedNodes() + '}';
+    }
+}
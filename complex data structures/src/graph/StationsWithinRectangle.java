@@ -1,60 +1,47 @@
 package graph;
 
-import lists.DoublyLinkedList;
 import model.Station;
 import model.Track;
+import trees.KDTree;
 
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
-import java.util.Scanner;
 
+/**
+ * Minimum spanning tree of the stations within a rectangle. The network is loaded once and shared (it can also be
+ * the RouteNetwork of the path finding), so a query only pays for a KDTree lookup of the stations and the tree
+ * itself, which runs on an InducedSubgraph view of the shared graph instead of a copy.
+ */
 public class StationsWithinRectangle {
 
-    private DoublyLinkedList<Station> stations;
-    private List<Track> tracks;
-    private WeightedMatrixGraph<Station> graph;
+    private final RouteNetwork network;
+    // spatial index over the coordinates of all stations, the network does not change so it is only built once
+    private final KDTree index;
 
     public StationsWithinRectangle(String stationsFile, String tracksFile) {
-        stations = (DoublyLinkedList<Station>) Station.readFromCSV(stationsFile);
-        tracks = Track.readFromCSV(tracksFile);
-        buildGraph();
+        this(new RouteNetwork(Station.convertToList(Station.readFromCSV(stationsFile)), Track.readFromCSV(tracksFile)));
     }
 
-    private void buildGraph() {
-        graph = new WeightedMatrixGraph<>(false);
-        for (Station station : stations.toArrayList()) {
-            graph.addVertex(station);
+    public StationsWithinRectangle(RouteNetwork network) {
+        this.network = network;
+        AbstractWeightedGraph<Station> graph = network.getGraph();
+        List<Station> stations = new ArrayList<>(network.getStationCount());
+        for (int i = 0; i < network.getStationCount(); i++) {
+            stations.add(graph.vertexAt(i));
         }
-        for (Track track : tracks) {
-            Station fromStation = findByCode(track.getCode());
-            Station toStation = findByCode(track.getNextCode());
-            if (fromStation != null && toStation != null) {
-                graph.connect(fromStation, toStation, track.getDistanceTo());
-            }
-        }
-    }
-
-    private Station findByCode(String code) {
-        for (Station station : stations.toArrayList()) {
-            if (station.getCode().equalsIgnoreCase(code)) {
-                return station;
-            }
-        }
-        return null;
+        this.index = new KDTree(stations);
     }
 
     public Station findStationByCode(String code) {
-        return findByCode(code);
+        return network.findStation(code);
     }
 
 
 
     public void calculateMinimumSpanningTree(double lat1, double lon1, double lat2, double lon2) {
 
-            // the starting station for BFS. in my case i start from the first index
-            Station startStation = stations.toArrayList().get(0);
-
-            List<Station> stationsWithin = findStationsWithinRectangle(lat1, lon1, lat2, lon2,startStation);
+            List<Station> stationsWithin = findStationsWithinRectangle(lat1, lon1, lat2, lon2);
 
         if (stationsWithin.isEmpty()) {
             System.out.println("No stations available within the given rectangle.");
@@ -66,17 +53,8 @@ public class StationsWithinRectangle {
             System.out.println(station.getName());
         }
 
-        WeightedMatrixGraph<Station> subgraph = new WeightedMatrixGraph<>(false);
-        for (Station station : stationsWithin) {
-            subgraph.addVertex(station);
-        }
-        for (Track track : tracks) {
-            Station fromStation = findByCode(track.getCode());
-            Station toStation = findByCode(track.getNextCode());
-            if (fromStation != null && toStation != null && stationsWithin.contains(fromStation) && stationsWithin.contains(toStation)) {
-                subgraph.connect(fromStation, toStation, track.getDistanceTo());
-            }
-        }
+        // a view on the shared graph, nothing is copied
+        InducedSubgraph<Station> subgraph = InducedSubgraph.of(network.getGraph(), stationsWithin);
 
         MCSTPrim mcstPrim = new MCSTPrim(subgraph);
         mcstPrim.prim(stationsWithin.get(0));
@@ -86,27 +64,13 @@ public class StationsWithinRectangle {
 
 
 
-    private List<Station> findStationsWithinRectangle(double lat1, double lon1, double lat2, double lon2, Station startStation) {
-        // First, find all stations reachable from the start station using BFS
-        List<Station> reachableStations = graph.breadthFirst(startStation);
-
-        // Then, filter out stations that are not within the specified rectangle
-        List<Station> stationsWithinRectangle = new ArrayList<>();
-        for (Station station : reachableStations) {
-            if (isWithinRectangle(station, lat1, lon1, lat2, lon2)) {
-                stationsWithinRectangle.add(station);
-            }
-        }
-
+    private List<Station> findStationsWithinRectangle(double lat1, double lon1, double lat2, double lon2) {
+        // the k-d tree only visits the parts of the map that overlap the rectangle, and unlike a search through
+        // the tracks it also finds the stations that are not connected to the rest
+        List<Station> stationsWithinRectangle = index.findWithinRectangle(lat1, lon1, lat2, lon2);
+        // in the order of the network, so the output does not depend on the shape of the tree
+        AbstractWeightedGraph<Station> graph = network.getGraph();
+        stationsWithinRectangle.sort(Comparator.comparingInt(graph::indexOf));
         return stationsWithinRectangle;
     }
-
-
-    private boolean isWithinRectangle(Station station, double lat1, double lon1, double lat2, double lon2) {
-        double lat = station.getGeoLat();
-        double lon = station.getGeoLng();
-        return (Math.min(lat1, lat2) <= lat && lat <= Math.max(lat1, lat2)) &&
-                (Math.min(lon1, lon2) <= lon && lon <= Math.max(lon1, lon2));
-    }
-
 }
@@ -0,0 +1,74 @@
+package graph;
+
+/**
+ * Disjoint sets of the ints 0 to n - 1 (union find). find compresses the path it walks (path halving) and
+ * union hangs the smaller set under the larger one, so a sequence of operations takes nearly constant time
+ * per operation. Used by the Kruskal and Boruvka spanning trees to check whether an edge would close a cycle.
+ */
+public class UnionFind {
+    private final int[] parents;
+    private final int[] sizes;
+    private int setCount;
+
+    public UnionFind(int n) {
+        parents = new int[n];
+        sizes = new int[n];
+        for (int i = 0; i < n; i++) {
+            parents[i] = i;
+            sizes[i] = 1;
+        }
+        setCount = n;
+    }
+
+    // Representative of the set of the element, the same for all elements of a set until the next union
+    public int find(int element) {
+        checkElement(element);
+        while (parents[element] != element) {
+            // point every other element on the path to its grandparent, halving the path for the next find
+            parents[element] = parents[parents[element]];
+            element = parents[element];
+        }
+        return element;
+    }
+
+    // Merges the sets of the two elements. Returns false when they already were in the same set
+    public boolean union(int a, int b) {
+        int rootA = find(a);
+        int rootB = find(b);
+        if (rootA == rootB) {
+            return false;
+        }
+        if (sizes[rootA] < sizes[rootB]) {
+            int swap = rootA;
+            rootA = rootB;
+            rootB = swap;
+        }
+        parents[rootB] = rootA;
+        sizes[rootA] += sizes[rootB];
+        setCount--;
+        return true;
+    }
+
+    public boolean connected(int a, int b) {
+        return find(a) == find(b);
+    }
+
+    // Number of elements in the set of the element
+    public int sizeOf(int element) {
+        return sizes[find(element)];
+    }
+
+    public int getSetCount() {
+        return setCount;
+    }
+
+    public int getElementCount() {
+        return parents.length;
+    }
+
+    private void checkElement(int element) {
+        if (element < 0 || element >= parents.length) {
+            throw new IllegalArgumentException("Element " + element + " is outside the union find of size " + parents.length + ".");
+        }
+    }
+}
@@ -2,7 +2,7 @@ package graph;
 
 import java.util.*;
 
-public class WeightedMatrixGraph<V> extends AbstractGraph<V> {
+public class WeightedMatrixGraph<V> extends AbstractWeightedGraph<V> {
 
 
 
@@ -13,14 +13,33 @@ public class WeightedMatrixGraph<V> extends AbstractGraph<V> {
     // A matrix that holds the weight of the connection between two vertices
     private  Double[][] weights;
 
+    // Maps every vertex to its row/column in the matrix, so finding the index is O(1) instead of a scan of the vertex list
+    private final Map<V, Integer> indices;
+
     // Constructor using SafeVarargs annotation for handling generic array arguments, i saw it used by our teacher Frederik Bonte
     @SafeVarargs
     public WeightedMatrixGraph(boolean directed, V... vertices) {
-        super(vertices);
+        super(Arrays.asList(vertices));
         this.directed = directed;
         this.weights = new Double[vertices.length][vertices.length]; // Initialize weights with Double to allow for null values
+        this.indices = new HashMap<>();
+        for (int i = 0; i < vertices.length; i++) {
+            indices.putIfAbsent(vertices[i], i); // keep the first index for duplicates just like indexOf did
+        }
+    }
+
+    // Creates the graph with all its vertices at once, so the matrix is allocated a single time
+    public WeightedMatrixGraph(boolean directed, List<V> vertices) {
+        super(vertices);
+        this.directed = directed;
+        this.weights = new Double[vertices.size()][vertices.size()];
+        this.indices = new HashMap<>();
+        for (int i = 0; i < vertices.size(); i++) {
+            indices.putIfAbsent(vertices.get(i), i);
+        }
     }
 
+    @Override
     public boolean isDirected() {
         return directed;
     }
@@ -30,6 +49,11 @@ public class WeightedMatrixGraph<V> extends AbstractGraph<V> {
         int index1 = getIndex(vertex1);
         int index2 = getIndex(vertex2);
 
+        connectByIndex(index1, index2, weight);
+    }
+
+    // Connect the vertices at the two indices, used when the indices are already known
+    public void connectByIndex(int index1, int index2, double weight) {
         weights[index1][index2] = weight;
         if (!isDirected()) {
             weights[index2][index1] = weight;
@@ -62,15 +86,26 @@ public class WeightedMatrixGraph<V> extends AbstractGraph<V> {
     }
 
 
+    @Override
+    public void forEachNeighbour(int vertex, IntDoubleConsumer consumer) {
+        Double[] row = weights[vertex];
+        for (int j = 0; j < row.length; j++) {
+            if (row[j] != null) {
+                consumer.accept(j, row[j]);
+            }
+        }
+    }
+
     @Override
     public boolean contains(V vertex) {
-        return getVertices().contains(vertex);
+        return indices.containsKey(vertex);
     }
 
-    // Get the weight of the connection between two vertices
+    // Get the index of the vertex in the matrix
+    @Override
     protected int getIndex(V vertex) {
-        int index = getVertices().indexOf(vertex);
-        if (index == -1) {
+        Integer index = indices.get(vertex);
+        if (index == null) {
             throw new IllegalArgumentException("Vertex not present in the graph.");
         }
         return index;
@@ -84,13 +119,35 @@ public class WeightedMatrixGraph<V> extends AbstractGraph<V> {
     */
 
     // Get the weight of the connection between two vertices
+    @Override
     public Double getWeight(V vertex1, V vertex2) {
-        if (!areConnected(vertex1, vertex2)) {
-            return null; //new: Return null for no connection
-        }
         int index1 = getIndex(vertex1);
         int index2 = getIndex(vertex2);
-        return weights[index1][index2];
+        return weights[index1][index2]; // null when there is no connection
+    }
+
+    @Override
+    public double getWeightByIndex(int index1, int index2) {
+        Double weight = weights[index1][index2];
+        return weight != null ? weight : Double.POSITIVE_INFINITY;
+    }
+
+    @Override
+    public int[] getNeighbourIndices(int index) {
+        int count = 0;
+        for (Double weight : weights[index]) {
+            if (weight != null) {
+                count++;
+            }
+        }
+        int[] neighbours = new int[count];
+        count = 0;
+        for (int j = 0; j < weights[index].length; j++) {
+            if (weights[index][j] != null) {
+                neighbours[count++] = j;
+            }
+        }
+        return neighbours;
     }
 
     public void addVertex(V vertex) {
@@ -109,6 +166,7 @@ public class WeightedMatrixGraph<V> extends AbstractGraph<V> {
         weights = newWeights;
 
         // Add the new vertex to the vertices list
+        indices.put(vertex, getVertices().size());
         getVertices().add(vertex);
     }
 
@@ -134,52 +192,6 @@ public class WeightedMatrixGraph<V> extends AbstractGraph<V> {
     }
 
 
-    public List<V> breadthFirst(V startVertex) {
-        Set<V> visited = new HashSet<>();
-        Queue<V> queue = new LinkedList<>();
-        List<V> result = new ArrayList<>();
-        queue.add(startVertex);
-
-        while (!queue.isEmpty()) {
-            V currentVertex = queue.poll();
-            if (!visited.contains(currentVertex)) {
-                result.add(currentVertex);
-                visited.add(currentVertex);
-                int vertexIndex = getIndex(currentVertex);
-                for (int j = 0; j < weights[vertexIndex].length; j++) {
-                    if (weights[vertexIndex][j] != null && !visited.contains(getVertices().get(j))) {
-                        queue.add(getVertices().get(j));
-                    }
-                }
-            }
-        }
-
-        return result;
-    }
-
-
-    public List<V> depthFirst(V startVertex) {
-        Set<V> visited = new HashSet<>();
-        Stack<V> stack = new Stack<>();
-        List<V> result = new ArrayList<>();
-        stack.push(startVertex);
-
-        while (!stack.isEmpty()) {
-            V currentVertex = stack.pop();
-            if (!visited.contains(currentVertex)) {
-                result.add(currentVertex);
-                visited.add(currentVertex);
-                int vertexIndex = getIndex(currentVertex);
-                for (int j = 0; j < weights[vertexIndex].length; j++) {
-                    if (weights[vertexIndex][j] != null && !visited.contains(getVertices().get(j))) {
-                        stack.push(getVertices().get(j));
-                    }
-                }
-            }
-        }
-        return result;
-    }
-
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder();
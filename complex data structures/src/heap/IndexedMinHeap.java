@@ -0,0 +1,205 @@
+package heap;
+
+import java.util.Arrays;
+
+/**
+ * Binary min heap of int ids (0 to capacity - 1) with a double key per id, for graph searches over vertex
+ * indices. A position array remembers where every id is in the heap, so contains is O(1) and decreaseKey and
+ * remove are O(log n) instead of the O(n) remove of a java.util.PriorityQueue. Every id is in the heap at most
+ * once, so no outdated entries have to be skipped.
+ *
+ * Ids with the same key come out in the order of their ids (lowest first), so the order does not depend on
+ * the order in which they were inserted.
+ */
+public class IndexedMinHeap {
+    private final int[] heap;      // ids in heap order
+    private final int[] positions; // position of every id in the heap, -1 when it is not in the heap
+    private final double[] keys;   // key of every id in the heap, indexed by id
+    private int size;
+
+    public IndexedMinHeap(int capacity) {
+        heap = new int[capacity];
+        positions = new int[capacity];
+        keys = new double[capacity];
+        Arrays.fill(positions, -1);
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public int getCapacity() {
+        return heap.length;
+    }
+
+    public boolean contains(int id) {
+        checkId(id);
+        return positions[id] != -1;
+    }
+
+    // Key of an id that is in the heap
+    public double keyOf(int id) {
+        checkContains(id);
+        return keys[id];
+    }
+
+    public void insert(int id, double key) {
+        checkId(id);
+        if (positions[id] != -1) {
+            throw new IllegalArgumentException("Id " + id + " is already in the heap.");
+        }
+        keys[id] = key;
+        positions[id] = size;
+        heap[size] = id;
+        percolateUp(size++);
+    }
+
+    // Lowers the key of an id that is in the heap
+    public void decreaseKey(int id, double key) {
+        checkContains(id);
+        if (key > keys[id]) {
+            throw new IllegalArgumentException("The new key " + key + " is larger than the current key " + keys[id] + ".");
+        }
+        keys[id] = key;
+        percolateUp(positions[id]);
+    }
+
+    // Inserts the id, or lowers its key when it is already in the heap with a larger key.
+    // Returns false when the id is already in the heap with a key that is not larger
+    public boolean insertOrDecrease(int id, double key) {
+        checkId(id);
+        if (positions[id] == -1) {
+            insert(id, key);
+            return true;
+        }
+        if (key < keys[id]) {
+            keys[id] = key;
+            percolateUp(positions[id]);
+            return true;
+        }
+        return false;
+    }
+
+    // Returns the id with the smallest key without removing it
+    public int peek() {
+        if (isEmpty()) {
+            throw new IllegalStateException("Cannot peek an empty heap");
+        }
+        return heap[0];
+    }
+
+    public double peekKey() {
+        return keys[peek()];
+    }
+
+    // Removes the id with the smallest key and returns it
+    public int pop() {
+        if (isEmpty()) {
+            throw new IllegalStateException("Cannot remove an item from an empty heap");
+        }
+        int result = heap[0];
+        removeAt(0);
+        return result;
+    }
+
+    // Removes an id from anywhere in the heap
+    public void remove(int id) {
+        checkContains(id);
+        removeAt(positions[id]);
+    }
+
+    // Empties the heap in O(size), the capacity stays the same
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            positions[heap[i]] = -1;
+        }
+        size = 0;
+    }
+
+    // Id at the given position in heap order, 0 is the id with the smallest key
+    public int get(int position) {
+        if (position < 0 || position >= size) {
+            throw new IndexOutOfBoundsException("Position " + position + " is outside the heap of size " + size + ".");
+        }
+        return heap[position];
+    }
+
+    // The ids that are in the heap, in heap order (only the first is guaranteed to have the smallest key)
+    public int[] toArray() {
+        return Arrays.copyOf(heap, size);
+    }
+
+    private void removeAt(int position) {
+        int removed = heap[position];
+        positions[removed] = -1;
+        size--;
+        if (position == size) {
+            return;
+        }
+        int last = heap[size];
+        heap[position] = last;
+        positions[last] = position;
+        // the moved id can be smaller than the parent of its new position or larger than its children
+        percolateUp(position);
+        percolateDown(positions[last]);
+    }
+
+    // Moves the id at the given position up until its parent is smaller
+    private void percolateUp(int position) {
+        int id = heap[position];
+        while (position > 0) {
+            int parentPosition = (position - 1) / 2;
+            int parent = heap[parentPosition];
+            if (!less(id, parent)) {
+                break;
+            }
+            heap[position] = parent;
+            positions[parent] = position;
+            position = parentPosition;
+        }
+        heap[position] = id;
+        positions[id] = position;
+    }
+
+    // Moves the id at the given position down until its children are larger
+    private void percolateDown(int position) {
+        int id = heap[position];
+        while (2 * position + 1 < size) {
+            int childPosition = 2 * position + 1;
+            if (childPosition + 1 < size && less(heap[childPosition + 1], heap[childPosition])) {
+                childPosition++;
+            }
+            int child = heap[childPosition];
+            if (!less(child, id)) {
+                break;
+            }
+            heap[position] = child;
+            positions[child] = position;
+            position = childPosition;
+        }
+        heap[position] = id;
+        positions[id] = position;
+    }
+
+    // Orders by key and ids with the same key by id
+    private boolean less(int a, int b) {
+        return keys[a] < keys[b] || (keys[a] == keys[b] && a < b);
+    }
+
+    private void checkId(int id) {
+        if (id < 0 || id >= heap.length) {
+            throw new IllegalArgumentException("Id " + id + " is outside the capacity of the heap.");
+        }
+    }
+
+    private void checkContains(int id) {
+        checkId(id);
+        if (positions[id] == -1) {
+            throw new IllegalArgumentException("Id " + id + " is not in the heap.");
+        }
+    }
+}
@@ -164,8 +164,8 @@ public class MinHeap<T extends Comparable<T>> {
         percolateDown(index);
     }
 
-    // i need this method to retun a copy of the heap's elements without altering the heap, i call this method
-    // in my MCSTPrim to obtain the elements of my priority queue which in that case is my MinHeap
+    // i need this method to retun a copy of the heap's elements without altering the heap, for example to print
+    // the elements of a priority queue which in that case is my MinHeap
     public List<T> getElements() {
         List<T> elements = new ArrayList<>();
         for (int i = 0; i < size; i++) {
@@ -28,6 +28,8 @@ public class Main {
 
         ArrayList<Track> tracks = (ArrayList<Track>) Track.readFromCSV("resources/tracks.csv");
         AStarPathFinding astar = new AStarPathFinding(tracks, staionList);
+        // the rectangle queries share the network of the path finding instead of loading the files again
+        StationsWithinRectangle swr = new StationsWithinRectangle(astar.getNetwork());
 
 
         do {
@@ -69,10 +71,9 @@ public class Main {
                         break;
                     case 7:
                         findShortestPathBetweenTwoStations(scanner, astar);
-                        astar.resetState(); // Resetting the state before finding the path so i can call this menu option multiple times and work
                         break;
                     case 8:
-                        stationsWithinRectangleMCST(scanner);
+                        stationsWithinRectangleMCST(scanner, swr);
                         break;
                     case 0:
                         System.out.println("Exiting...");
@@ -165,9 +166,7 @@ public class Main {
         }
     }
 
-    private static void stationsWithinRectangleMCST(Scanner scanner) {
-
-        StationsWithinRectangle swr = new StationsWithinRectangle("resources/stations.csv", "resources/tracks.csv");
+    private static void stationsWithinRectangleMCST(Scanner scanner, StationsWithinRectangle swr) {
 
         // Ask for station codes
         System.out.println("Enter the code for the first station (one corner of the rectangle):");
@@ -0,0 +1,42 @@
+package model;
+
+/**
+ * Great circle distances on the earth with the haversine formula, shared by the haversine heuristic of A* and the
+ * nearest station search. Coordinates are in degrees unless the method says radians.
+ */
+public final class GreatCircle {
+
+    public static final double EARTH_RADIUS_KM = 6371.0;
+
+    private GreatCircle() {
+    }
+
+    // Distance in km between two coordinates
+    public static double distance(double lat1, double lng1, double lat2, double lng2) {
+        double phi1 = Math.toRadians(lat1);
+        double phi2 = Math.toRadians(lat2);
+        return haversine(phi1, Math.toRadians(lng1), Math.cos(phi1), phi2, Math.toRadians(lng2), Math.cos(phi2));
+    }
+
+    // Distance in km between two stations
+    public static double distance(Station from, Station to) {
+        return distance(from.getGeoLat(), from.getGeoLng(), to.getGeoLat(), to.getGeoLng());
+    }
+
+    // Distance in km between two coordinates in radians, with the cosines of their latitudes computed up front
+    // by callers that measure from the same points many times
+    public static double haversine(double lat1, double lng1, double cosLat1,
+                                   double lat2, double lng2, double cosLat2) {
+        double a = haversineTerm(lat1, lng1, cosLat1, lat2, lng2, cosLat2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    // The part of the haversine formula under the square root: sin^2(distance / 2R), coordinates in radians. It
+    // grows with the distance, so comparing these skips the asin and the square root
+    public static double haversineTerm(double lat1, double lng1, double cosLat1,
+                                       double lat2, double lng2, double cosLat2) {
+        double sinLat = Math.sin((lat2 - lat1) / 2);
+        double sinLng = Math.sin((lng2 - lng1) / 2);
+        return sinLat * sinLat + cosLat1 * cosLat2 * sinLng * sinLng;
+    }
+}
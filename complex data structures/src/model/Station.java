@@ -26,11 +26,18 @@ public class Station implements Comparable<Station> {
     // Constructor, the assertions are provided by our teacher Frederik Bonte during the first lectures
     public Station(int id, String code, String name, String country,
                    String type, double geo_lat, double geo_long) {
+        this(id, code, null, name, country, type, geo_lat, geo_long);
+    }
+
+    // Same, with the UIC number of the station (null when it is not known)
+    public Station(int id, String code, String uic, String name, String country,
+                   String type, double geo_lat, double geo_long) {
         assert id > 0 : "Please provide a non negative id.";
         this.id = id;
         assert code != null : "Please provide an actual code.";
         this.code = code.trim();
         assert !this.code.isBlank() : "Please provide an actual code.";
+        this.uic = uic != null ? uic.trim() : null;
         assert name != null : "Please provide an actual name.";
         this.name = name.trim();
         assert !this.name.isBlank() : "Please provide an actual name.";
@@ -69,7 +76,7 @@ public class Station implements Comparable<Station> {
                         line[8].matches("[^,]+") &&  // type
                         line[9].matches("-?\\d+\\.\\d+") &&  // geo_lat
                         line[10].matches("-?\\d+\\.\\d+")) { // geo_long
-                    Station station = new Station(Integer.parseInt(line[0]), line[1],
+                    Station station = new Station(Integer.parseInt(line[0]), line[1], line[2],
                             line[3], line[7],
                             line[8], Double.parseDouble(line[9]),
                             Double.parseDouble(line[10]));
@@ -114,6 +121,10 @@ public class Station implements Comparable<Station> {
         return code;
     }
 
+    public String getUic() {
+        return uic;
+    }
+
     public String getName() {
         return name;
     }
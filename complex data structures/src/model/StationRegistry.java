@@ -0,0 +1,107 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lookup of the loaded stations by code, by UIC number and by id in O(1). The hash tables are built once when
+ * the stations are loaded and never changed afterwards, so one registry can be shared by all searches and
+ * threads instead of every class scanning the station list or keeping its own map.
+ *
+ * Every station keeps its position in the list it was built from (indexOf), which is the vertex index of the
+ * station in a graph built from the same list by the GraphBuilder. When two stations share a code, UIC number or
+ * id the first one is found, like indexOf of the graphs does.
+ */
+public final class StationRegistry {
+
+    private final Station[] stations;
+    private final Map<String, Integer> indicesByCode;
+    private final Map<String, Station> stationsByUic;
+    private final Map<Integer, Station> stationsById;
+
+    public StationRegistry(Iterable<Station> stations) {
+        List<Station> list = new ArrayList<>();
+        for (Station station : stations) {
+            list.add(station);
+        }
+        this.stations = list.toArray(new Station[0]);
+
+        Map<String, Integer> codes = new HashMap<>();
+        Map<String, Station> uics = new HashMap<>();
+        Map<Integer, Station> ids = new HashMap<>();
+        for (int i = 0; i < this.stations.length; i++) {
+            Station station = this.stations[i];
+            codes.putIfAbsent(normalize(station.getCode()), i);
+            if (station.getUic() != null) {
+                uics.putIfAbsent(station.getUic(), station);
+            }
+            ids.putIfAbsent(station.getId(), station);
+        }
+        indicesByCode = Map.copyOf(codes);
+        stationsByUic = Map.copyOf(uics);
+        stationsById = Map.copyOf(ids);
+    }
+
+    // Station with the given code ignoring case and surrounding spaces, or null when it is not registered
+    public Station get(String code) {
+        int index = indexOf(code);
+        return index != -1 ? stations[index] : null;
+    }
+
+    // Position of the station with the given code in the list the registry was built from, or -1
+    public int indexOf(String code) {
+        if (code == null) {
+            return -1;
+        }
+        Integer index = indicesByCode.get(normalize(code));
+        return index != null ? index : -1;
+    }
+
+    // Station with the given UIC number (surrounding spaces ignored), or null when it is not registered
+    public Station getByUic(String uic) {
+        return uic != null ? stationsByUic.get(uic.trim()) : null;
+    }
+
+    // Station with the given id, or null when it is not registered
+    public Station getById(int id) {
+        return stationsById.get(id);
+    }
+
+    public boolean contains(String code) {
+        return indexOf(code) != -1;
+    }
+
+    // The stations with the given codes in the same order, with null for the codes that are not registered
+    public List<Station> getAll(Iterable<String> codes) {
+        List<Station> result = new ArrayList<>();
+        for (String code : codes) {
+            result.add(get(code));
+        }
+        return result;
+    }
+
+    public List<Station> getAll(String... codes) {
+        return getAll(Arrays.asList(codes));
+    }
+
+    public Station stationAt(int index) {
+        return stations[index];
+    }
+
+    // All stations in the order the registry was built from
+    public List<Station> getStations() {
+        return Collections.unmodifiableList(Arrays.asList(stations));
+    }
+
+    public int size() {
+        return stations.length;
+    }
+
+    private static String normalize(String code) {
+        return code.trim().toLowerCase();
+    }
+}
@@ -0,0 +1,85 @@
+package sorting;
+
+import java.util.Arrays;
+
+/**
+ * Least significant digit radix sort of integer keys, one byte per pass. Instead of moving the keys it returns
+ * the positions of the keys in sorted order, so arrays that belong to the keys (for example the two ends of an
+ * edge) can be read in that order. Equal keys keep their original order.
+ *
+ * A pass is skipped when every key has the same byte at that position, so small keys such as track distances
+ * in km only take one or two passes over the data instead of the O(n log n) comparisons of a comparison sort.
+ */
+public class RadixSort {
+
+    private static final int RADIX = 256;
+
+    // Positions of the keys in ascending order, negative keys included
+    public static int[] sortedIndices(int[] keys) {
+        long[] unsigned = new long[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            // flipping the sign bit orders negative keys before the positive ones when compared without sign
+            unsigned[i] = (keys[i] ^ Integer.MIN_VALUE) & 0xFFFFFFFFL;
+        }
+        return sort(unsigned, Integer.BYTES);
+    }
+
+    // Positions of the keys in ascending order, negative keys included
+    public static int[] sortedIndices(long[] keys) {
+        long[] unsigned = new long[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            unsigned[i] = keys[i] ^ Long.MIN_VALUE;
+        }
+        return sort(unsigned, Long.BYTES);
+    }
+
+    // Key of a double with the same order as the double itself (for the doubles that are not NaN), so doubles
+    // can be sorted with sortedIndices(long[])
+    public static long sortableKey(double value) {
+        long bits = Double.doubleToLongBits(value);
+        // negative doubles are stored as sign and magnitude, flipping the magnitude reverses their order
+        return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+    }
+
+    // Sorts keys that are compared without sign, looking at the given number of bytes
+    private static int[] sort(long[] keys, int bytes) {
+        int n = keys.length;
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        int[] buffer = new int[n];
+        int[] counts = new int[RADIX + 1];
+
+        for (int shift = 0; shift < bytes * 8; shift += 8) {
+            Arrays.fill(counts, 0);
+            for (int i = 0; i < n; i++) {
+                counts[(int) ((keys[order[i]] >>> shift) & 0xFF) + 1]++;
+            }
+            if (allInOneBucket(counts, n)) {
+                continue;
+            }
+            for (int digit = 0; digit < RADIX; digit++) {
+                counts[digit + 1] += counts[digit];
+            }
+            // counts[digit] is now the first position of the digit, going from left to right keeps it stable
+            for (int i = 0; i < n; i++) {
+                int index = order[i];
+                buffer[counts[(int) ((keys[index] >>> shift) & 0xFF)]++] = index;
+            }
+            int[] swap = order;
+            order = buffer;
+            buffer = swap;
+        }
+        return order;
+    }
+
+    private static boolean allInOneBucket(int[] counts, int n) {
+        for (int count : counts) {
+            if (count == n) {
+                return true;
+            }
+        }
+        return n == 0;
+    }
+}
@@ -0,0 +1,338 @@
+package trees;
+
+import heap.IndexedMinHeap;
+import model.GreatCircle;
+import model.Station;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Predicate;
+
+/**
+ * Balanced 2-d tree of stations by their coordinates, for rectangle and nearest station queries. It is built once
+ * and cannot be changed afterwards. The tree is stored in arrays instead of nodes: every range of positions holds
+ * one subtree with its root (the median of the range) in the middle, levels alternate between splitting on
+ * latitude and on longitude.
+ *
+ * Every subtree also remembers the bounding box of its stations. A query skips the subtrees whose box is outside
+ * the rectangle and reports the subtrees whose box is inside it without looking at the single stations, so
+ * only the subtrees on the border of the rectangle are searched: about log n for a small rectangle and at most
+ * O(sqrt n + k) for k results.
+ *
+ * The nearest stations by great circle (haversine) distance are found best first: the subtrees wait in a heap
+ * by the distance to their bounding box, which no station inside can be closer than, and the search stops as
+ * soon as the closest waiting box is further away than the k-th station found. Near the coordinate that is about
+ * log n + k subtrees. The heaps are reused between queries, so one tree can be used by many threads at once.
+ */
+public class KDTree {
+
+    private final Station[] stations; // in tree order
+    private final double[] lat;
+    private final double[] lng;
+    // bounding box of the subtree whose root is at the position
+    private final double[] minLat;
+    private final double[] maxLat;
+    private final double[] minLng;
+    private final double[] maxLng;
+    private final double[] cosLat;
+    // the bounding boxes in radians for the nearest station queries, with the tangent and cosine of their borders
+    private final double[] south;
+    private final double[] north;
+    private final double[] west;
+    private final double[] east;
+    private final double[] tanSouth;
+    private final double[] tanNorth;
+    private final double[] cosSouth;
+    private final double[] cosNorth;
+    // position of the root of the left and right subtree of the subtree whose root is at the position, -1 if empty
+    private final int[] left;
+    private final int[] right;
+    private final Queue<NearestSearch> searches = new ConcurrentLinkedQueue<>();
+
+    public KDTree(Collection<Station> stations) {
+        this.stations = stations.toArray(new Station[0]);
+        int n = this.stations.length;
+        lat = new double[n];
+        lng = new double[n];
+        minLat = new double[n];
+        maxLat = new double[n];
+        minLng = new double[n];
+        maxLng = new double[n];
+        cosLat = new double[n];
+        south = new double[n];
+        north = new double[n];
+        west = new double[n];
+        east = new double[n];
+        tanSouth = new double[n];
+        tanNorth = new double[n];
+        cosSouth = new double[n];
+        cosNorth = new double[n];
+        left = new int[n];
+        right = new int[n];
+        build(0, n, 0);
+    }
+
+    public int size() {
+        return stations.length;
+    }
+
+    public boolean isEmpty() {
+        return stations.length == 0;
+    }
+
+    // All stations within the rectangle given by two opposite corners (in any order), borders included
+    public List<Station> findWithinRectangle(double lat1, double lon1, double lat2, double lon2) {
+        List<Station> result = new ArrayList<>();
+        collect(0, stations.length, Math.min(lat1, lat2), Math.max(lat1, lat2),
+                Math.min(lon1, lon2), Math.max(lon1, lon2), result);
+        return result;
+    }
+
+    /**
+     * The k stations closest to the coordinate by great circle distance, closest first. Fewer are returned when
+     * the tree has fewer stations. Throws an IllegalArgumentException when k is smaller than 1.
+     */
+    public List<Station> findNearest(double lat, double lng, int k) {
+        return findNearest(lat, lng, k, null);
+    }
+
+    // Same, only counting the stations that pass the filter (null for all). The subtrees are still pruned by their
+    // boxes, but the stations that do not pass are read, so a filter that rejects most stations is slower
+    public List<Station> findNearest(double lat, double lng, int k, Predicate<Station> filter) {
+        if (k < 1) {
+            throw new IllegalArgumentException("At least one station must be asked for.");
+        }
+        NearestSearch search = searches.poll();
+        if (search == null) {
+            search = new NearestSearch();
+        }
+        try {
+            return search.run(Math.toRadians(lat), Math.toRadians(lng), Math.min(k, stations.length), filter);
+        } finally {
+            searches.offer(search);
+        }
+    }
+
+    // Builds the subtree of the positions from (inclusive) to to (exclusive)
+    private void build(int from, int to, int depth) {
+        if (from >= to) {
+            return;
+        }
+        int middle = (from + to) >>> 1;
+        boolean byLat = depth % 2 == 0;
+        select(from, to - 1, middle, byLat);
+        // every position is the root of exactly one subtree, so this fills in all coordinates
+        lat[middle] = stations[middle].getGeoLat();
+        lng[middle] = stations[middle].getGeoLng();
+        cosLat[middle] = Math.cos(Math.toRadians(lat[middle]));
+        left[middle] = from < middle ? (from + middle) >>> 1 : -1;
+        right[middle] = middle + 1 < to ? (middle + 1 + to) >>> 1 : -1;
+        build(from, middle, depth + 1);
+        build(middle + 1, to, depth + 1);
+
+        minLat[middle] = maxLat[middle] = lat[middle];
+        minLng[middle] = maxLng[middle] = lng[middle];
+        if (left[middle] != -1) {
+            includeBox(middle, left[middle]);
+        }
+        if (right[middle] != -1) {
+            includeBox(middle, right[middle]);
+        }
+        south[middle] = Math.toRadians(minLat[middle]);
+        north[middle] = Math.toRadians(maxLat[middle]);
+        west[middle] = Math.toRadians(minLng[middle]);
+        east[middle] = Math.toRadians(maxLng[middle]);
+        tanSouth[middle] = Math.tan(south[middle]);
+        tanNorth[middle] = Math.tan(north[middle]);
+        cosSouth[middle] = Math.cos(south[middle]);
+        cosNorth[middle] = Math.cos(north[middle]);
+    }
+
+    private void includeBox(int root, int child) {
+        minLat[root] = Math.min(minLat[root], minLat[child]);
+        maxLat[root] = Math.max(maxLat[root], maxLat[child]);
+        minLng[root] = Math.min(minLng[root], minLng[child]);
+        maxLng[root] = Math.max(maxLng[root], maxLng[child]);
+    }
+
+    private void collect(int from, int to, double south, double north, double west, double east, List<Station> result) {
+        if (from >= to) {
+            return;
+        }
+        int middle = (from + to) >>> 1;
+        if (maxLat[middle] < south || minLat[middle] > north || maxLng[middle] < west || minLng[middle] > east) {
+            return;
+        }
+        if (minLat[middle] >= south && maxLat[middle] <= north && minLng[middle] >= west && maxLng[middle] <= east) {
+            for (int i = from; i < to; i++) {
+                result.add(stations[i]);
+            }
+            return;
+        }
+        if (lat[middle] >= south && lat[middle] <= north && lng[middle] >= west && lng[middle] <= east) {
+            result.add(stations[middle]);
+        }
+        collect(from, middle, south, north, west, east, result);
+        collect(middle + 1, to, south, north, west, east, result);
+    }
+
+    // The buffers of one nearest station query, only used by one thread at a time
+    private final class NearestSearch {
+        private final IndexedMinHeap heap = new IndexedMinHeap(stations.length); // subtree roots by box distance
+        // the closest stations found so far, sorted by their distance (as haversine term, like the heap keys)
+        private int[] found = new int[8];
+        private double[] foundDistance = new double[8];
+        private int count;
+
+        private double queryLat;
+        private double queryLng;
+        private double queryCos;
+        private double queryTan;
+
+        // The coordinate in radians
+        List<Station> run(double latitude, double longitude, int k, Predicate<Station> filter) {
+            queryLat = latitude;
+            queryLng = longitude;
+            queryCos = Math.cos(latitude);
+            queryTan = Math.tan(latitude);
+            if (found.length < k) {
+                found = new int[k];
+                foundDistance = new double[k];
+            }
+            count = 0;
+            heap.clear();
+            if (stations.length > 0) {
+                int root = stations.length >>> 1;
+                heap.insert(root, boxDistance(root));
+            }
+
+            while (!heap.isEmpty()) {
+                if (count == k && heap.peekKey() >= foundDistance[k - 1]) {
+                    break; // every station that is left is further away than the k found ones
+                }
+                int node = heap.pop();
+                if (filter == null || filter.test(stations[node])) {
+                    offer(node, GreatCircle.haversineTerm(queryLat, queryLng, queryCos,
+                            Math.toRadians(lat[node]), Math.toRadians(lng[node]), cosLat[node]), k);
+                }
+                enqueue(left[node], k);
+                enqueue(right[node], k);
+            }
+
+            List<Station> result = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                result.add(stations[found[i]]);
+            }
+            return result;
+        }
+
+        private void enqueue(int child, int k) {
+            if (child == -1) {
+                return;
+            }
+            double distance = boxDistance(child);
+            if (count < k || distance < foundDistance[k - 1]) {
+                heap.insert(child, distance);
+            }
+        }
+
+        // Insertion into the sorted found stations, k is small so shifting is cheaper than a heap
+        private void offer(int node, double distance, int k) {
+            if (count == k) {
+                if (distance >= foundDistance[k - 1]) {
+                    return;
+                }
+                count--;
+            }
+            int i = count++;
+            for (; i > 0 && foundDistance[i - 1] > distance; i--) {
+                found[i] = found[i - 1];
+                foundDistance[i] = foundDistance[i - 1];
+            }
+            found[i] = node;
+            foundDistance[i] = distance;
+        }
+
+        // Shortest great circle distance (as haversine term) from the query to the bounding box of the subtree,
+        // 0 inside it
+        private double boxDistance(int node) {
+            if (queryLng >= west[node] && queryLng <= east[node]) {
+                // along the meridian of the query, no point at another latitude can be closer
+                double sinHalf = Math.sin(Math.max(0, Math.max(south[node] - queryLat, queryLat - north[node])) / 2);
+                return sinHalf * sinHalf;
+            }
+            // outside the longitudes of the box the closest point is on the side meridian that is closer in
+            // longitude, the distance to a point grows with the difference in longitude at every latitude
+            double toWest = longitudeDifference(queryLng, west[node]);
+            double toEast = longitudeDifference(queryLng, east[node]);
+            return toWest <= toEast ? meridianDistance(node, west[node], toWest) : meridianDistance(node, east[node], toEast);
+        }
+
+        // Shortest distance from the query to the side of the box on the meridian, the longitude of which differs
+        // the given amount from the query. The distance grows away from the closest point of the whole meridian
+        // (the foot of the perpendicular, at latitude atan(tan(lat) / cos(difference))), so when the foot is
+        // outside the box the closest point is the corner on its side
+        private double meridianDistance(int node, double meridian, double difference) {
+            boolean footNorth;
+            if (difference >= Math.PI / 2) {
+                footNorth = queryLat >= 0; // the foot is the pole of the hemisphere of the query
+            } else {
+                double tanFoot = queryTan / Math.cos(difference);
+                if (tanFoot >= tanSouth[node] && tanFoot <= tanNorth[node]) {
+                    // the foot is on the side, so the distance d is the one to the great circle of the meridian:
+                    // sin d = cos(lat) sin(difference), and sin^2(d / 2) = sin^2 d / (2 (1 + cos d))
+                    double sinDistance = Math.min(1, queryCos * Math.sin(difference));
+                    double squared = sinDistance * sinDistance;
+                    return squared / (2 * (1 + Math.sqrt(1 - squared)));
+                }
+                footNorth = tanFoot > tanNorth[node];
+            }
+            return footNorth
+                    ? GreatCircle.haversineTerm(queryLat, queryLng, queryCos, north[node], meridian, cosNorth[node])
+                    : GreatCircle.haversineTerm(queryLat, queryLng, queryCos, south[node], meridian, cosSouth[node]);
+        }
+    }
+
+    // Difference between two longitudes in radians, the short way around (0 to pi)
+    private static double longitudeDifference(double lng1, double lng2) {
+        double difference = Math.abs(lng1 - lng2);
+        return difference > Math.PI ? 2 * Math.PI - difference : difference;
+    }
+
+    // Quickselect: puts the station that belongs at position k (by the coordinate) there, with the smaller ones
+    // before it and the larger ones after it
+    private void select(int left, int right, int k, boolean byLat) {
+        while (left < right) {
+            double pivot = coordinate(stations[(left + right) >>> 1], byLat);
+            int i = left;
+            int j = right;
+            while (i <= j) {
+                while (coordinate(stations[i], byLat) < pivot) {
+                    i++;
+                }
+                while (coordinate(stations[j], byLat) > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    Station swap = stations[i];
+                    stations[i++] = stations[j];
+                    stations[j--] = swap;
+                }
+            }
+            if (k <= j) {
+                right = j;
+            } else if (k >= i) {
+                left = i;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private static double coordinate(Station station, boolean byLat) {
+        return byLat ? station.getGeoLat() : station.getGeoLng();
+    }
+}
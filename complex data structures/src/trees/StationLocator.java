@@ -0,0 +1,98 @@
+package trees;
+
+import model.Station;
+import model.StationRegistry;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The stations nearest to a coordinate, of all stations or only of one type (for example the intercity hubs)
+ * and/or one country. Besides the KDTree of all stations there is a KDTree per type and per country, so a filtered
+ * query only searches the stations it can return instead of skipping the others. When both a type and a country
+ * are given the smaller of their two trees is searched and the other one is checked per station.
+ *
+ * Everything is built once, after that one locator can be used by many threads at the same time.
+ */
+public class StationLocator {
+
+    private static final KDTree EMPTY = new KDTree(List.of());
+
+    private final KDTree all;
+    private final Map<String, KDTree> byType;
+    private final Map<String, KDTree> byCountry;
+
+    public StationLocator(Collection<Station> stations) {
+        all = new KDTree(stations);
+        Map<String, List<Station>> types = new HashMap<>();
+        Map<String, List<Station>> countries = new HashMap<>();
+        for (Station station : stations) {
+            types.computeIfAbsent(typeKey(station.getType()), key -> new ArrayList<>()).add(station);
+            countries.computeIfAbsent(countryKey(station.getCountry()), key -> new ArrayList<>()).add(station);
+        }
+        byType = treesOf(types);
+        byCountry = treesOf(countries);
+    }
+
+    public StationLocator(StationRegistry registry) {
+        this(registry.getStations());
+    }
+
+    private static Map<String, KDTree> treesOf(Map<String, List<Station>> groups) {
+        Map<String, KDTree> trees = new HashMap<>();
+        for (Map.Entry<String, List<Station>> group : groups.entrySet()) {
+            trees.put(group.getKey(), new KDTree(group.getValue()));
+        }
+        return Map.copyOf(trees);
+    }
+
+    // The k stations closest to the coordinate, closest first
+    public List<Station> findNearest(double lat, double lng, int k) {
+        return all.findNearest(lat, lng, k);
+    }
+
+    // The k closest stations of the type (ignoring case), none for an unknown type
+    public List<Station> findNearestOfType(double lat, double lng, int k, String type) {
+        return findNearest(lat, lng, k, type, null);
+    }
+
+    // The k closest stations in the country (ignoring case), none for an unknown country
+    public List<Station> findNearestInCountry(double lat, double lng, int k, String country) {
+        return findNearest(lat, lng, k, null, country);
+    }
+
+    /**
+     * The k closest stations of the type in the country, closest first. A null type or country is not filtered
+     * on. Throws an IllegalArgumentException when k is smaller than 1.
+     */
+    public List<Station> findNearest(double lat, double lng, int k, String type, String country) {
+        if (type == null && country == null) {
+            return all.findNearest(lat, lng, k);
+        }
+        KDTree typeTree = type != null ? byType.getOrDefault(typeKey(type), EMPTY) : null;
+        KDTree countryTree = country != null ? byCountry.getOrDefault(countryKey(country), EMPTY) : null;
+        if (countryTree == null) {
+            return typeTree.findNearest(lat, lng, k);
+        }
+        if (typeTree == null) {
+            return countryTree.findNearest(lat, lng, k);
+        }
+        if (typeTree.size() <= countryTree.size()) {
+            String countryKey = countryKey(country);
+            return typeTree.findNearest(lat, lng, k, station -> countryKey(station.getCountry()).equals(countryKey));
+        }
+        String typeKey = typeKey(type);
+        return countryTree.findNearest(lat, lng, k, station -> typeKey(station.getType()).equals(typeKey));
+    }
+
+    private static String typeKey(String type) {
+        return type.trim().toLowerCase();
+    }
+
+    private static String countryKey(String country) {
+        return country.trim().toUpperCase();
+    }
+}
@@ -0,0 +1,138 @@
+package graph;
+
+import model.Station;
+import model.Track;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// The tests every minimum spanning tree engine has to pass, TestMCSTKruskal and TestMCSTBoruvka run them
+abstract class AbstractSpanningTreeTest {
+    protected WeightedMatrixGraph<Station> graph;
+    protected Station a, b, c, d, e, f, g, h, i;
+
+    // The engine under test, the same few methods are asked from MCSTKruskal and MCSTBoruvka
+    interface SpanningTree {
+        void build();
+
+        double calculateTotalLength();
+
+        List<Edge> getEdges();
+
+        int getComponentCount();
+    }
+
+    protected abstract SpanningTree spanningTree(AbstractWeightedGraph<Station> graph);
+
+    // Builds the tree of the graph
+    protected SpanningTree build(AbstractWeightedGraph<Station> graph) {
+        SpanningTree tree = spanningTree(graph);
+        tree.build();
+        return tree;
+    }
+
+    @BeforeEach
+    void setUp() {
+        //the same example as TestMCSTPrim, from the sheets for Prim in week 7 of cds
+        a = new Station(1, "A", "A", "NL", "station", 45.12, 5.12 );
+        b = new Station(2, "B", "B", "NL", "station", 35.24, 6.12 );
+        c = new Station(3, "C", "C", "NL", "station", 75.62, 5.17 );
+        d = new Station(4, "D", "D", "NL", "station", 55.34, 6.27 );
+        e = new Station(5, "E", "E", "NL", "station", 35.21, 7.89 );
+        f = new Station(6, "F", "F", "NL", "station", 68.31, 4.39 );
+        g = new Station(7, "G", "G", "NL", "station", 25.12, 7.21 );
+        h = new Station(8, "H", "H", "NL", "station", 33.33, 3.33 );
+        i = new Station(9, "I", "I", "NL", "station", 23.93, 6.78 );
+        graph = new WeightedMatrixGraph<>(false, a, b, c, d, e, f, g, h, i);
+        graph.connect(a, b, 4);
+        graph.connect(a, h, 8);
+        graph.connect(b, c, 8);
+        graph.connect(b, h, 11);
+        graph.connect(c, d, 7);
+        graph.connect(c, f, 4);
+        graph.connect(c, i, 2);
+        graph.connect(d, e, 9);
+        graph.connect(d, f, 14);
+        graph.connect(e, f, 10);
+        graph.connect(f, g, 2);
+        graph.connect(g, h, 1);
+        graph.connect(g, i, 6);
+        graph.connect(h, i, 7);
+    }
+
+    @Test
+    void testSameLengthAsPrim() {
+        SpanningTree tree = build(graph);
+        MCSTPrim prim = new MCSTPrim(graph);
+        prim.prim(a);
+
+        assertEquals(prim.calculateTotalLength(), tree.calculateTotalLength());
+        assertEquals(37.0, tree.calculateTotalLength());
+        assertEquals(8, tree.getEdges().size());
+        assertEquals(1, tree.getComponentCount());
+    }
+
+    @Test
+    void testEdgesSpanTheGraph() {
+        SpanningTree tree = build(graph);
+
+        UnionFind connected = new UnionFind(9);
+        double sum = 0;
+        for (Edge edge : tree.getEdges()) {
+            assertEquals(graph.getWeightByIndex(edge.getFrom(), edge.getTo()), edge.getWeight());
+            assertTrue(connected.union(edge.getFrom(), edge.getTo()), "edge closes a cycle");
+            sum += edge.getWeight();
+        }
+        assertEquals(1, connected.getSetCount());
+        assertEquals(tree.calculateTotalLength(), sum);
+    }
+
+    @Test
+    void testDisconnectedGraph() {
+        Station j = new Station(10, "J", "J", "NL", "station", 0.0, 0.0);
+        Station k = new Station(11, "K", "K", "NL", "station", 0.0, 0.0);
+        graph.addVertex(j);
+        graph.addVertex(k);
+        graph.connect(j, k, 3);
+
+        SpanningTree tree = build(graph);
+
+        assertEquals(40.0, tree.calculateTotalLength());
+        assertEquals(2, tree.getComponentCount());
+        assertEquals(9, tree.getEdges().size());
+    }
+
+    @Test
+    void testEmptyGraph() {
+        SpanningTree tree = build(new WeightedMatrixGraph<>(false));
+        assertEquals(0.0, tree.calculateTotalLength());
+        assertTrue(tree.getEdges().isEmpty());
+    }
+
+    @Test
+    void testDirectedGraph() {
+        SpanningTree tree = spanningTree(new WeightedMatrixGraph<>(true, a, b));
+        assertThrows(IllegalArgumentException.class, tree::build);
+    }
+
+    @Test
+    void testNetwork() {
+        List<Station> stations = Station.convertToList(Station.readFromCSV("resources/stations.csv"));
+        List<Track> tracks = Track.readFromCSV("resources/tracks.csv");
+        CompressedSparseRowGraph<Station> network = new GraphBuilder(stations, tracks).build(false);
+        SpanningTree tree = build(network);
+        MCSTPrim prim = new MCSTPrim(network);
+        prim.setPrintSteps(false);
+        prim.prim(network.vertexAt(0));
+
+        assertEquals(prim.calculateTotalLength(), tree.calculateTotalLength(), 1e-9);
+        assertEquals(stations.size() - tree.getComponentCount(), tree.getEdges().size());
+        Set<Edge> edges = new HashSet<>(tree.getEdges());
+        assertEquals(tree.getEdges().size(), edges.size());
+    }
+}
@@ -8,6 +8,10 @@ import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static model.Station.readFromCSV;
 import static org.junit.jupiter.api.Assertions.*;
@@ -78,15 +82,65 @@ class TestAStar {
     }
 
     @Test
-    void testGetCode() {
-        Station station = new Station(1, "AMS", "Amsterdam", "NL", "megastation", 52.3702, 4.8952);
-        AStarPathFinding.Node node = new AStarPathFinding.Node(station);
-
-        String code = node.getCode();
-
-        // Verify the code matches
-        assertEquals("AMS", code);
+    void testStatisticsWithPluggedHeuristic() {
+        astar.setHeuristic(new ZeroHeuristic());
+        List<Station> path = astar.findPath("dv", "na");
+        assertNotNull(path);
+        assertEquals(1, astar.getStatistics().getQueryCount());
+        assertEquals(astar.getExpandedNodeCount(), astar.getStatistics().getExpandedNodeCount());
+        astar.getStatistics().reset();
+        assertEquals(0, astar.getStatistics().getQueryCount());
     }
 
+    @Test
+    void testConcurrentQueriesWithoutReset() throws Exception {
+        List<String[]> queries = new ArrayList<>();
+        Random random = new Random(17);
+        for (int i = 0; i < 200; i++) {
+            queries.add(new String[]{staionList.get(random.nextInt(staionList.size())).getCode(),
+                    staionList.get(random.nextInt(staionList.size())).getCode()});
+        }
+        List<Double> expected = new ArrayList<>();
+        for (String[] query : queries) {
+            expected.add(astar.calculateTotalPathWeight(astar.findPath(query[0], query[1])));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Double>> results = new ArrayList<>();
+            for (String[] query : queries) {
+                results.add(executor.submit(() -> astar.calculateTotalPathWeight(astar.findPath(query[0], query[1]))));
+            }
+            for (int i = 0; i < queries.size(); i++) {
+                assertEquals(expected.get(i), results.get(i).get(), 1e-9);
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(400, astar.getStatistics().getQueryCount());
+    }
 
+    @Test
+    void testDistanceMatrixMatchesFindPath() {
+        List<String> sources = new ArrayList<>();
+        List<String> targets = new ArrayList<>();
+        Random random = new Random(29);
+        for (int i = 0; i < 20; i++) {
+            sources.add(staionList.get(random.nextInt(staionList.size())).getCode());
+            targets.add(staionList.get(random.nextInt(staionList.size())).getCode());
+        }
+        targets.add(targets.get(0)); // a target may appear twice
+
+        double[][] matrix = astar.distanceMatrix(sources, targets);
+        assertEquals(sources.size(), matrix.length);
+        for (int i = 0; i < sources.size(); i++) {
+            assertEquals(targets.size(), matrix[i].length);
+            for (int j = 0; j < targets.size(); j++) {
+                List<Station> path = astar.findPath(sources.get(i), targets.get(j));
+                double expected = path == null ? Double.POSITIVE_INFINITY : astar.calculateTotalPathWeight(path);
+                assertEquals(expected, matrix[i][j], 1e-9);
+            }
+        }
+        assertThrows(IllegalArgumentException.class, () -> astar.distanceMatrix(List.of("ut"), List.of("xyz")));
+    }
 }
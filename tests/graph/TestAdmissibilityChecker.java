@@ -0,0 +1,44 @@
+package graph;
+
+import model.Station;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestAdmissibilityChecker {
+
+    private WeightedMatrixGraph<Station> graph;
+
+    @BeforeEach
+    void setUp() {
+        Station a = new Station(1, "A", "A", "NL", "station", 52.0, 5.0);
+        Station b = new Station(2, "B", "B", "NL", "station", 52.1, 5.0);
+        Station c = new Station(3, "C", "C", "NL", "station", 52.2, 5.0);
+        graph = new WeightedMatrixGraph<>(false, a, b, c);
+        graph.connect(a, b, 12);
+        graph.connect(b, c, 12);
+    }
+
+    @Test
+    void testAcceptsAdmissibleHeuristic() {
+        AdmissibilityChecker checker = new AdmissibilityChecker(graph);
+        checker.checkAll(new ZeroHeuristic());
+        checker.checkAll(new HaversineHeuristic(graph, 1.0));
+    }
+
+    @Test
+    void testDetectsOverestimate() {
+        AdmissibilityChecker checker = new AdmissibilityChecker(graph);
+        // the stations are about 11.1 km apart, so twice the straight line is more than the 12 km tracks
+        assertThrows(IllegalStateException.class, () -> checker.check(new HaversineHeuristic(graph, 2.0), 0));
+        assertThrows(IllegalStateException.class, () -> checker.check(goal -> vertex -> 100, 0));
+    }
+
+    @Test
+    void testRejectsDirectedGraph() {
+        Station a = new Station(1, "A", "A", "NL", "station", 52.0, 5.0);
+        WeightedMatrixGraph<Station> directed = new WeightedMatrixGraph<>(true, a);
+        assertThrows(IllegalArgumentException.class, () -> new AdmissibilityChecker(directed));
+    }
+}
@@ -0,0 +1,76 @@
+package graph;
+
+import model.Station;
+import model.Track;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestBidirectionalSearch {
+
+    private List<Station> stations;
+    private CompressedSparseRowGraph<Station> network;
+
+    @BeforeEach
+    void setUp() {
+        stations = Station.convertToList(Station.readFromCSV("resources/stations.csv"));
+        List<Track> tracks = Track.readFromCSV("resources/tracks.csv");
+        network = new GraphBuilder(stations, tracks).build(false);
+    }
+
+    @Test
+    void testSameDistanceAsAStar() {
+        AStarPathFinding astar = new AStarPathFinding(network);
+        BidirectionalSearch dijkstra = new BidirectionalSearch(network);
+        BidirectionalSearch alt = new BidirectionalSearch(network);
+        alt.setHeuristic(LandmarkHeuristic.farthest(network, 8));
+
+        Random random = new Random(23);
+        for (int i = 0; i < 200; i++) {
+            String from = stations.get(random.nextInt(stations.size())).getCode();
+            String to = stations.get(random.nextInt(stations.size())).getCode();
+
+            List<Station> expected = astar.findPath(from, to);
+            for (BidirectionalSearch search : List.of(dijkstra, alt)) {
+                List<Station> path = search.findPath(from, to);
+                if (expected == null) {
+                    assertNull(path);
+                } else {
+                    assertEquals(expected.get(0), path.get(0));
+                    assertEquals(expected.get(expected.size() - 1), path.get(path.size() - 1));
+                    assertEquals(astar.calculateTotalPathWeight(expected), astar.calculateTotalPathWeight(path), 1e-9);
+                }
+            }
+        }
+        assertTrue(dijkstra.getStatistics().getExpandedNodeCount() < astar.getStatistics().getExpandedNodeCount());
+    }
+
+    @Test
+    void testSmallGraph() {
+        Station a = new Station(1, "A", "A", "NL", "station", 45.12, 5.12);
+        Station b = new Station(2, "B", "B", "NL", "station", 35.24, 6.12);
+        Station c = new Station(3, "C", "C", "NL", "station", 75.62, 5.17);
+        Station d = new Station(4, "D", "D", "NL", "station", 55.34, 6.27);
+        WeightedMatrixGraph<Station> graph = new WeightedMatrixGraph<>(false, a, b, c, d);
+        graph.connect(a, b, 1);
+        graph.connect(b, c, 2);
+        graph.connect(a, c, 5);
+        BidirectionalSearch search = new BidirectionalSearch(graph);
+
+        assertEquals(List.of(a, b, c), search.findPath(a, c));
+        assertEquals(List.of(c, b, a), search.findPath("c", "a"));
+        assertEquals(List.of(a), search.findPath(a, a));
+        assertNull(search.findPath(a, d));
+        assertNull(search.findPath("a", "x"));
+    }
+
+    @Test
+    void testRejectsDirectedGraph() {
+        Station a = new Station(1, "A", "A", "NL", "station", 45.12, 5.12);
+        assertThrows(IllegalArgumentException.class, () -> new BidirectionalSearch(new WeightedMatrixGraph<>(true, a)));
+    }
+}
@@ -0,0 +1,153 @@
+package graph;
+
+import model.Station;
+import model.Track;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestCompressedSparseRowGraph {
+
+    private CompressedSparseRowGraph<Integer> directedGraph;
+    private List<Station> stations;
+    private List<Track> tracks;
+
+    @BeforeEach
+    void setUp() {
+        // same directed graph as the one from the slides of week 5 used in TestWeightedMatrixGraph
+        directedGraph = new CompressedSparseRowGraph<>(true, Arrays.asList(1, 2, 3, 4, 5, 6),
+                new int[]{0, 1, 3, 4, 0, 2},
+                new int[]{1, 3, 4, 5, 2, 3},
+                new double[]{1.0, -1.0, 3.0, 19.0, 12.0, 8.0}, 6);
+
+        stations = Station.convertToList(Station.readFromCSV("resources/stations.csv"));
+        tracks = Track.readFromCSV("resources/tracks.csv");
+    }
+
+    @Test
+    void testDirectedGraphConnections() {
+        assertTrue(directedGraph.isDirected());
+        assertEquals(1.0, directedGraph.getWeight(1, 2));
+        assertEquals(-1.0, directedGraph.getWeight(2, 4));
+        assertEquals(12.0, directedGraph.getWeight(1, 3));
+        assertNull(directedGraph.getWeight(4, 2));
+        assertTrue(directedGraph.areConnected(3, 4));
+        assertFalse(directedGraph.areConnected(4, 3));
+        assertEquals(6, directedGraph.getEdgeCount());
+    }
+
+    @Test
+    void testUndirectedGraphStoresBothDirectionsAndLastWeightWins() {
+        CompressedSparseRowGraph<String> graph = new CompressedSparseRowGraph<>(false, Arrays.asList("A", "B", "C"),
+                new int[]{0, 1, 1, 1},
+                new int[]{1, 2, 0, 2},
+                new double[]{1.0, 2.0, 5.0, 3.0}, 4);
+
+        assertEquals(5.0, graph.getWeight("A", "B"));
+        assertEquals(5.0, graph.getWeight("B", "A"));
+        assertEquals(3.0, graph.getWeight("C", "B"));
+        assertEquals(4, graph.getEdgeCount());
+    }
+
+    @Test
+    void testNeighboursAreOrderedByVertexIndex() {
+        Iterable<Integer> neighbours = directedGraph.getConnectedNeighbours(1);
+        assertEquals(Arrays.asList(2, 3), neighbours);
+    }
+
+    @Test
+    void testIndexBasedWeightAndNeighbours() {
+        assertEquals(3, directedGraph.indexOf(4));
+        assertEquals(-1, directedGraph.indexOf(100));
+        assertEquals(12.0, directedGraph.getWeightByIndex(0, 2));
+        assertEquals(Double.POSITIVE_INFINITY, directedGraph.getWeightByIndex(2, 0));
+        assertArrayEquals(new int[]{1, 2}, directedGraph.getNeighbourIndices(0));
+    }
+
+    @Test
+    void testForEachNeighbourPassesIndexAndWeight() {
+        List<String> visited = new ArrayList<>();
+        directedGraph.forEachNeighbour(0, (target, weight) -> visited.add(target + "=" + weight));
+        assertEquals(Arrays.asList("1=1.0", "2=12.0"), visited);
+    }
+
+    @Test
+    void testTraversalsMatchMatrixGraph() {
+        // same expected orders as the traversal tests of TestWeightedMatrixGraph
+        assertEquals(Arrays.asList(1, 2, 3, 4, 5, 6), directedGraph.breadthFirst(1));
+        assertEquals(Arrays.asList(1, 3, 4, 5, 6, 2), directedGraph.depthFirst(1));
+    }
+
+    @Test
+    void testUnknownVertexShouldThrowAnException() {
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> directedGraph.getWeight(1, 100));
+        assertEquals("Vertex not present in the graph.", exception.getMessage());
+        assertFalse(directedGraph.contains(100));
+        assertTrue(directedGraph.contains(6));
+    }
+
+    @Test
+    void testFromTracksMatchesMatrixGraph() {
+        CompressedSparseRowGraph<Station> csrGraph = CompressedSparseRowGraph.fromTracks(false, stations, tracks);
+        WeightedMatrixGraph<Station> matrixGraph = new WeightedMatrixGraph<>(false, stations.toArray(new Station[0]));
+        for (Track track : tracks) {
+            Station from = findByCode(track.getCode());
+            Station to = findByCode(track.getNextCode());
+            if (from != null && to != null) {
+                matrixGraph.connect(from, to, track.getDistanceTo());
+            }
+        }
+
+        for (Station station : stations) {
+            assertEquals(matrixGraph.getConnectedNeighbours(station), csrGraph.getConnectedNeighbours(station));
+            for (Station neighbour : matrixGraph.getConnectedNeighbours(station)) {
+                assertEquals(matrixGraph.getWeight(station, neighbour), csrGraph.getWeight(station, neighbour));
+            }
+        }
+    }
+
+    @Test
+    void testAStarRunsOnCompressedGraph() {
+        AStarPathFinding matrixAStar = new AStarPathFinding(tracks, stations);
+        AStarPathFinding csrAStar = new AStarPathFinding(CompressedSparseRowGraph.fromTracks(false, stations, tracks));
+
+        List<Station> expected = matrixAStar.findPath("dv", "na");
+        List<Station> path = csrAStar.findPath("dv", "na");
+        assertEquals(expected, path);
+        assertEquals(matrixAStar.calculateTotalPathWeight(expected), csrAStar.calculateTotalPathWeight(path));
+    }
+
+    @Test
+    void testDijkstraAndPrimRunOnCompressedGraph() {
+        Station a = new Station(1, "A", "A", "NL", "station", 45.12, 5.12);
+        Station b = new Station(2, "B", "B", "NL", "station", 35.24, 6.12);
+        Station c = new Station(3, "C", "C", "NL", "station", 75.62, 5.17);
+        Station d = new Station(4, "D", "D", "NL", "station", 55.34, 6.27);
+        List<Station> vertices = List.of(a, b, c, d);
+        CompressedSparseRowGraph<Station> graph = new CompressedSparseRowGraph<>(false, vertices,
+                new int[]{0, 0, 1, 2},
+                new int[]{1, 2, 2, 3},
+                new double[]{1.0, 4.0, 2.0, 1.0}, 4);
+
+        assertEquals(List.of(a, b, c, d), DijkstraAlgorithm.findShortestPath(graph, a, d));
+
+        MCSTPrim prim = new MCSTPrim(graph);
+        prim.prim(a);
+        assertEquals(4.0, prim.calculateTotalLength());
+    }
+
+    private Station findByCode(String code) {
+        for (Station station : stations) {
+            if (station.getCode().equalsIgnoreCase(code)) {
+                return station;
+            }
+        }
+        return null;
+    }
+}
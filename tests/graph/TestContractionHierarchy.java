@@ -0,0 +1,128 @@
+package graph;
+
+import model.Station;
+import model.Track;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestContractionHierarchy {
+
+    private List<Station> stations;
+    private CompressedSparseRowGraph<Station> network;
+    private Station a, b, c, d, e, f, g;
+    private WeightedMatrixGraph<Station> graph;
+
+    @BeforeEach
+    void setUp() {
+        stations = Station.convertToList(Station.readFromCSV("resources/stations.csv"));
+        List<Track> tracks = Track.readFromCSV("resources/tracks.csv");
+        network = new GraphBuilder(stations, tracks).build(false);
+
+        // the graph of the Dijkstra example in the slides of week 7, also used in TestDijkstra
+        a = new Station(1, "A", "A", "NL", "station", 45.12, 5.12);
+        b = new Station(2, "B", "B", "NL", "station", 35.24, 6.12);
+        c = new Station(3, "C", "C", "NL", "station", 75.62, 5.17);
+        d = new Station(4, "D", "D", "NL", "station", 55.34, 6.27);
+        e = new Station(5, "E", "E", "NL", "station", 35.21, 7.89);
+        f = new Station(6, "F", "F", "NL", "station", 68.31, 4.39);
+        g = new Station(7, "G", "G", "NL", "station", 25.12, 7.21);
+        graph = new WeightedMatrixGraph<>(false, a, b, c, d, e, f, g);
+        graph.connect(a, b, 1);
+        graph.connect(a, c, 4);
+        graph.connect(b, e, 10);
+        graph.connect(b, d, 3);
+        graph.connect(b, c, 2);
+        graph.connect(e, d, 5);
+        graph.connect(e, g, 2);
+        graph.connect(e, f, 7);
+        graph.connect(f, g, 5);
+        graph.connect(g, d, 1);
+        graph.connect(g, c, 3);
+        graph.connect(c, d, 6);
+    }
+
+    @Test
+    void testQueryUnpacksShortcutsIntoOriginalPath() {
+        ContractionHierarchy<Station>.Query query = new ContractionHierarchy<>(graph).newQuery();
+
+        assertEquals(List.of(a, b, d, g, f), query.findPath(a, f));
+        assertEquals(10.0, query.getLastDistance());
+        assertEquals(List.of(f, g, d, b, a), query.findPath(f, a));
+    }
+
+    @Test
+    void testQueryFromStationToItself() {
+        ContractionHierarchy<Station>.Query query = new ContractionHierarchy<>(graph).newQuery();
+        assertEquals(List.of(c), query.findPath(c, c));
+        assertEquals(0.0, query.getLastDistance());
+    }
+
+    @Test
+    void testQueryWithoutPathReturnsNull() {
+        Station z = new Station(8, "Z", "Z", "NL", "station", 28.33, 7.39);
+        graph.addVertex(z);
+        ContractionHierarchy<Station>.Query query = new ContractionHierarchy<>(graph).newQuery();
+
+        assertNull(query.findPath(a, z));
+        assertEquals(Double.POSITIVE_INFINITY, query.getLastDistance());
+    }
+
+    @Test
+    void testDirectedGraphIsRejected() {
+        WeightedMatrixGraph<Station> directed = new WeightedMatrixGraph<>(true, a, b);
+        assertThrows(IllegalArgumentException.class, () -> new ContractionHierarchy<>(directed));
+    }
+
+    @Test
+    void testSameTotalsAsAStarOnFullNetwork() {
+        AStarPathFinding astar = new AStarPathFinding(network);
+        ContractionHierarchy<Station> hierarchy = new ContractionHierarchy<>(network);
+        ContractionHierarchy<Station>.Query query = hierarchy.newQuery();
+
+        Random random = new Random(42);
+        for (int i = 0; i < 200; i++) {
+            Station from = stations.get(random.nextInt(stations.size()));
+            Station to = stations.get(random.nextInt(stations.size()));
+
+            List<Station> expected = astar.findPath(from.getCode(), to.getCode());
+            astar.resetState();
+            List<Station> path = query.findPath(from, to);
+
+            if (expected == null) {
+                assertNull(path);
+                continue;
+            }
+            // equally long alternatives may exist, so the totals are compared and the path is checked to be a real route
+            double total = astar.calculateTotalPathWeight(expected);
+            assertEquals(total, query.getLastDistance(), 1e-9);
+            assertEquals(total, astar.calculateTotalPathWeight(path), 1e-9);
+            assertEquals(from, path.get(0));
+            assertEquals(to, path.get(path.size() - 1));
+            assertTrue(query.getLastSettledCount() < stations.size());
+        }
+    }
+
+    @Test
+    void testAStarUsesContractionHierarchy() {
+        AStarPathFinding astar = new AStarPathFinding(network);
+        List<Station> expected = astar.findPath("dv", "na");
+        double expectedWeight = astar.calculateTotalPathWeight(expected);
+
+        astar.resetState();
+        astar.useContractionHierarchy();
+        long queries = astar.getStatistics().getQueryCount();
+        long expanded = astar.getStatistics().getExpandedNodeCount();
+        List<Station> path = astar.findPath("dv", "na");
+        assertEquals(expectedWeight, astar.calculateTotalPathWeight(path));
+        // the settled vertices of the hierarchy query are counted like the expanded nodes of A*
+        assertTrue(astar.getExpandedNodeCount() > 0);
+        assertEquals(queries + 1, astar.getStatistics().getQueryCount());
+        assertEquals(expanded + astar.getExpandedNodeCount(), astar.getStatistics().getExpandedNodeCount());
+        assertNull(astar.findPath("dv", "abcd"));
+    }
+}
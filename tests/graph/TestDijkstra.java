@@ -117,7 +117,54 @@ class TestDijkstra {
         assertEquals(List.of(a, b), path);
     }
 
+    @Test
+    void testTraceListenerFollowsVisitOrder() {
+        List<Station> visited = new ArrayList<>();
+        List<Integer> queueSizes = new ArrayList<>();
+        boolean[] reached = new boolean[1];
+        DijkstraTraceListener listener = new DijkstraTraceListener() {
+            @Override
+            public void visited(Station station, double distance, Station previous, Queue queue) {
+                if (station == a) {
+                    assertEquals(0.0, distance);
+                    assertNull(previous);
+                }
+                visited.add(station);
+                queueSizes.add(queue.size());
+            }
+
+            @Override
+            public void finished(boolean targetReached) {
+                reached[0] = targetReached;
+            }
+        };
+
+        List<Station> path = DijkstraAlgorithm.findShortestPath(graph, a, f, listener);
+        assertEquals(List.of(a, b, d, g, f), path);
+        assertEquals(List.of(a, b, c, d, g, e, f), visited);
+        assertEquals(0, queueSizes.get(queueSizes.size() - 1));
+        assertTrue(reached[0]);
+    }
 
+    @Test
+    void testIndexBasedShortestPath() {
+        int[] path = DijkstraAlgorithm.findShortestPath(graph, graph.indexOf(a), graph.indexOf(f));
+        int[] expected = {graph.indexOf(a), graph.indexOf(b), graph.indexOf(d), graph.indexOf(g), graph.indexOf(f)};
+        assertArrayEquals(expected, path);
+        assertEquals(10.0, DijkstraAlgorithm.shortestDistance(graph, graph.indexOf(a), graph.indexOf(f)));
 
+        Station z = new Station(8, "Z", "Z", "NL", "station", 28.33, 7.39);
+        graph.addVertex(z);
+        assertEquals(0, DijkstraAlgorithm.findShortestPath(graph, graph.indexOf(a), graph.indexOf(z)).length);
+        assertEquals(Double.POSITIVE_INFINITY, DijkstraAlgorithm.shortestDistance(graph, graph.indexOf(a), graph.indexOf(z)));
+    }
 
+    @Test
+    void testStopsWhenTargetIsSettled() {
+        List<Station> visited = new ArrayList<>();
+        List<Station> path = DijkstraAlgorithm.findShortestPath(graph, a, d, (station, distance, previous, queue) -> visited.add(station));
+        assertEquals(List.of(a, b, d), path);
+        // D is settled at distance 4, E (11) and F are never visited
+        assertEquals(List.of(a, b, c, d), visited);
+    }
 }
@@ -0,0 +1,50 @@
+package graph;
+
+import model.Station;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestDijkstraTracePrinter {
+
+    private WeightedMatrixGraph<Station> graph;
+    private Station a, b, c, d;
+
+    @BeforeEach
+    void setUp() {
+        a = new Station(1, "A", "A", "NL", "station", 45.12, 5.12);
+        b = new Station(2, "B", "B", "NL", "station", 35.24, 6.12);
+        c = new Station(3, "C", "C", "NL", "station", 75.62, 5.17);
+        d = new Station(4, "D", "D", "NL", "station", 55.34, 6.27);
+        graph = new WeightedMatrixGraph<>(false, a, b, c, d);
+        graph.connect(a, b, 1);
+        graph.connect(a, c, 4);
+        graph.connect(b, c, 2);
+    }
+
+    @Test
+    void testPrintsVisitsAndQueue() {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        DijkstraTracePrinter printer = new DijkstraTracePrinter(new PrintStream(output, true, StandardCharsets.UTF_8));
+        DijkstraAlgorithm.findShortestPath(graph, a, c, printer);
+
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\\R");
+        assertEquals(3, lines.length);
+        assertEquals("A(0.0,-) | ", lines[0]);
+        assertEquals("B(1.0,A) | C(4.0,A) ", lines[1]); // the queue before the connections of B are relaxed
+        assertEquals("C(3.0,B) | ", lines[2]);
+    }
+
+    @Test
+    void testPrintsNothingWhenTargetIsNotReached() {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        DijkstraTracePrinter printer = new DijkstraTracePrinter(new PrintStream(output, true, StandardCharsets.UTF_8));
+        DijkstraAlgorithm.findShortestPath(graph, a, d, printer);
+        assertEquals("", output.toString(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,105 @@
+package graph;
+
+import model.Station;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestDistanceLookup {
+
+    private WeightedMatrixGraph<Station> graph;
+    private Station a, b, c;
+    private Path file;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        a = new Station(1, "A", "A", "NL", "station", 52.0, 5.0);
+        b = new Station(2, "B", "B", "NL", "station", 52.1, 5.0);
+        c = new Station(3, "C", "C", "NL", "station", 52.2, 5.0);
+        graph = new WeightedMatrixGraph<>(false, a, b, c);
+        graph.connect(a, b, 12);
+        graph.connect(b, c, 12);
+        file = Files.createTempFile("distances", ".bin");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    void testUsesTable() throws IOException {
+        AStarPathFinding astar = new AStarPathFinding(graph);
+        DistanceTable.compute(astar.getNetwork()).write(file);
+
+        DistanceLookup lookup = new DistanceLookup(astar, file);
+        assertTrue(lookup.isUsingTable());
+        assertEquals(24.0, lookup.distance("a", "c"));
+        assertEquals(0.0, astar.getStatistics().getQueryCount());
+    }
+
+    @Test
+    void testFallsBackWhenMissing() throws IOException {
+        Files.delete(file);
+        AStarPathFinding astar = new AStarPathFinding(graph);
+        DistanceLookup lookup = new DistanceLookup(astar, file);
+        assertFalse(lookup.isUsingTable());
+        assertEquals(24.0, lookup.distance("a", "c"));
+        assertThrows(IllegalArgumentException.class, () -> lookup.distance("a", "x"));
+    }
+
+    @Test
+    void testRebuildDropsTheTableOfTheOldNetwork() throws IOException {
+        AStarPathFinding astar = new AStarPathFinding(graph);
+        DistanceTable.compute(astar.getNetwork()).write(file);
+        DistanceLookup lookup = new DistanceLookup(astar, file);
+        assertEquals(24.0, lookup.distance("a", "c"));
+
+        WeightedMatrixGraph<Station> changed = new WeightedMatrixGraph<>(false, a, b, c);
+        changed.connect(a, b, 12);
+        changed.connect(b, c, 12);
+        changed.connect(a, c, 20);
+        AStarPathFinding rebuilt = new AStarPathFinding(changed);
+        lookup.rebuild(rebuilt);
+
+        assertFalse(lookup.isUsingTable());
+        assertEquals(1, lookup.getNetworkVersion());
+        assertEquals(20.0, lookup.distance("a", "c"));
+        assertEquals(1, rebuilt.getStatistics().getQueryCount());
+        // a table of the old graph is rejected
+        assertFalse(new DistanceLookup(rebuilt, file).isUsingTable());
+        lookup.rebuild(rebuilt, file);
+        assertFalse(lookup.isUsingTable());
+        assertEquals(2, lookup.getNetworkVersion());
+    }
+
+    @Test
+    void testRebuildWithAnAddedStation() throws IOException {
+        AStarPathFinding astar = new AStarPathFinding(graph);
+        DistanceLookup lookup = new DistanceLookup(astar, DistanceTable.compute(astar.getNetwork()));
+        assertThrows(IllegalArgumentException.class, () -> lookup.distance("a", "d"));
+
+        Station d = new Station(4, "D", "D", "NL", "station", 52.3, 5.0);
+        WeightedMatrixGraph<Station> changed = new WeightedMatrixGraph<>(false, a, b, c, d);
+        changed.connect(a, b, 12);
+        changed.connect(b, c, 12);
+        changed.connect(c, d, 5);
+        AStarPathFinding rebuilt = new AStarPathFinding(changed);
+        DistanceTable.compute(rebuilt.getNetwork()).write(file);
+        lookup.rebuild(rebuilt, file);
+
+        assertTrue(lookup.isUsingTable());
+        assertEquals(29.0, lookup.distance("a", "d"));
+        assertEquals(0, rebuilt.getStatistics().getQueryCount());
+
+        lookup.rebuild(rebuilt);
+        assertFalse(lookup.isUsingTable());
+        assertEquals(29.0, lookup.distance("d", "a"));
+    }
+}
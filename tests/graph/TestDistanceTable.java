@@ -0,0 +1,113 @@
+package graph;
+
+import model.Station;
+import model.Track;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestDistanceTable {
+
+    private List<Station> stations;
+    private List<Track> tracks;
+    private RouteNetwork network;
+    private Path file;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        stations = Station.convertToList(Station.readFromCSV("resources/stations.csv"));
+        tracks = Track.readFromCSV("resources/tracks.csv");
+        network = new RouteNetwork(stations, tracks);
+        file = Files.createTempFile("distances", ".bin");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    void testComputeMatchesDijkstra() {
+        DistanceTable table = DistanceTable.compute(network);
+        for (int source = 0; source < network.getStationCount(); source += 37) {
+            double[] expected = DijkstraAlgorithm.distancesFrom(network.getGraph(), source);
+            for (int target = 0; target < expected.length; target++) {
+                assertEquals(expected[target], table.distance(source, target));
+            }
+        }
+        assertEquals(0.0, table.distance("ut", "UT"));
+        assertThrows(IllegalArgumentException.class, () -> table.distance("ut", "xyz"));
+    }
+
+    @Test
+    void testWriteAndLoad() throws IOException {
+        DistanceTable table = DistanceTable.compute(network);
+        table.write(file);
+        assertEquals(DistanceTable.HEADER_BYTES + 8L * stations.size() * stations.size(), Files.size(file));
+
+        DistanceTable loaded = DistanceTable.load(file, new RouteNetwork(stations, tracks));
+        assertEquals(table.getFingerprint(), loaded.getFingerprint());
+        for (int source = 0; source < network.getStationCount(); source += 13) {
+            for (int target = 0; target < network.getStationCount(); target += 7) {
+                assertEquals(table.distance(source, target), loaded.distance(source, target));
+            }
+        }
+    }
+
+    @Test
+    void testRejectsTableOfOtherNetwork() throws IOException {
+        DistanceTable.compute(network).write(file);
+        WeightedMatrixGraph<Station> changed = new GraphBuilder(stations, tracks).buildMatrixGraph(false);
+        assertNotNull(DistanceTable.load(file, new RouteNetwork(changed)));
+        changed.connectByIndex(0, 1, 1);
+        assertThrows(IllegalStateException.class, () -> DistanceTable.load(file, new RouteNetwork(changed)));
+    }
+
+    @Test
+    void testRejectsOtherVersion() throws IOException {
+        DistanceTable.compute(network).write(file);
+        try (RandomAccessFile raw = new RandomAccessFile(file.toFile(), "rw")) {
+            raw.seek(4);
+            raw.writeInt(DistanceTable.VERSION + 1);
+        }
+        assertThrows(IllegalStateException.class, () -> DistanceTable.load(file, network));
+
+        Files.write(file, new byte[]{1, 2, 3});
+        assertThrows(IOException.class, () -> DistanceTable.load(file, network));
+    }
+
+    @Test
+    void testSegmentsOfLargeNetworks() {
+        // past 46,340 stations a table has more than 2^31 - 1 distances, the rows are spread over segments
+        assertEquals(DistanceTable.MAX_SEGMENT_DOUBLES / 46341, DistanceTable.rowsPerSegment(46341));
+        assertTrue((long) DistanceTable.rowsPerSegment(100_000) * 100_000 <= Integer.MAX_VALUE);
+        assertEquals(1, DistanceTable.rowsPerSegment(DistanceTable.MAX_SEGMENT_DOUBLES));
+        assertThrows(IllegalArgumentException.class, () -> DistanceTable.rowsPerSegment(DistanceTable.MAX_SEGMENT_DOUBLES + 1));
+    }
+
+    @Test
+    void testFailedWriteRemovesTemporaryFile() throws IOException {
+        // the target is a directory that is not empty, so moving the written table in place fails
+        Path directory = Files.createTempDirectory("distances");
+        Path target = Files.createDirectory(directory.resolve("distances.bin"));
+        Path blocker = Files.createFile(target.resolve("blocker"));
+        try {
+            assertThrows(IOException.class, () -> DistanceTable.compute(network).write(target));
+            try (var entries = Files.list(directory)) {
+                assertEquals(List.of(target), entries.toList());
+            }
+        } finally {
+            Files.delete(blocker);
+            Files.delete(target);
+            Files.delete(directory);
+        }
+    }
+}
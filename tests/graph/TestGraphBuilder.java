@@ -0,0 +1,78 @@
+package graph;
+
+import model.Station;
+import model.Track;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestGraphBuilder {
+
+    private Station a, b, c, d;
+    private List<Station> stations;
+    private List<Track> tracks;
+
+    @BeforeEach
+    void setUp() {
+        a = new Station(1, "A", "A", "NL", "station", 45.12, 5.12);
+        b = new Station(2, "B", "B", "NL", "station", 35.24, 6.12);
+        c = new Station(3, "C", "C", "NL", "station", 75.62, 5.17);
+        d = new Station(4, "D", "D", "NL", "station", 55.34, 6.27);
+        stations = List.of(a, b, c, d);
+
+        // the track codes are lower case in tracks.csv, so the builder has to match them case-insensitively
+        tracks = List.of(
+                new Track("a", "b", 3, 3, 30),
+                new Track("b", "c", 5, 5, 30),
+                new Track("c", "d", 2, 2, 30),
+                new Track("d", "x", 9, 9, 30)); // x is not one of the stations
+    }
+
+    @Test
+    void testBuildSkipsTracksToUnknownStations() {
+        GraphBuilder builder = new GraphBuilder(stations, tracks);
+        assertEquals(3, builder.getEdgeCount());
+    }
+
+    @Test
+    void testBuildCompressedGraph() {
+        CompressedSparseRowGraph<Station> graph = new GraphBuilder(stations, tracks).build(false);
+
+        assertEquals(3.0, graph.getWeight(a, b));
+        assertEquals(3.0, graph.getWeight(b, a));
+        assertEquals(2.0, graph.getWeight(d, c));
+        assertNull(graph.getWeight(a, d));
+        assertEquals(List.of(a, b, c, d), graph.getVertices());
+    }
+
+    @Test
+    void testBuildMatrixGraph() {
+        WeightedMatrixGraph<Station> graph = new GraphBuilder(stations, tracks).buildMatrixGraph(true);
+
+        assertTrue(graph.isDirected());
+        assertEquals(5.0, graph.getWeight(b, c));
+        assertNull(graph.getWeight(c, b));
+
+        // the matrix graph can still be changed after it was built
+        Station e = new Station(5, "E", "E", "NL", "station", 50.0, 5.0);
+        graph.addVertex(e);
+        graph.connect(d, e, 4.0);
+        assertEquals(4.0, graph.getWeight(d, e));
+    }
+
+    @Test
+    void testBuildFullNetwork() {
+        List<Station> allStations = Station.convertToList(Station.readFromCSV("resources/stations.csv"));
+        List<Track> allTracks = Track.readFromCSV("resources/tracks.csv");
+        GraphBuilder builder = new GraphBuilder(allStations, allTracks);
+
+        CompressedSparseRowGraph<Station> compressed = builder.build(false);
+        WeightedMatrixGraph<Station> matrix = builder.buildMatrixGraph(false);
+        for (Station station : allStations) {
+            assertEquals(matrix.getConnectedNeighbours(station), compressed.getConnectedNeighbours(station));
+        }
+    }
+}
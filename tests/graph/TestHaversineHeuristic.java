@@ -0,0 +1,57 @@
+package graph;
+
+import model.Station;
+import model.Track;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestHaversineHeuristic {
+
+    private List<Station> stations;
+    private CompressedSparseRowGraph<Station> network;
+
+    @BeforeEach
+    void setUp() {
+        stations = Station.convertToList(Station.readFromCSV("resources/stations.csv"));
+        List<Track> tracks = Track.readFromCSV("resources/tracks.csv");
+        network = new GraphBuilder(stations, tracks).build(false);
+    }
+
+    @Test
+    void testCalibratedHeuristicIsAdmissible() {
+        HaversineHeuristic heuristic = HaversineHeuristic.calibrated(network);
+        assertTrue(heuristic.getRatio() > 0.9 && heuristic.getRatio() <= 1.0);
+        new AdmissibilityChecker(network).checkAll(heuristic);
+    }
+
+    @Test
+    void testAStarWithCalibratedHeuristicExpandsFewerStations() {
+        AStarPathFinding plain = new AStarPathFinding(network);
+        plain.setHeuristic(new ZeroHeuristic());
+        AStarPathFinding haversine = new AStarPathFinding(network);
+        haversine.setHeuristic(HaversineHeuristic.calibrated(network));
+
+        Random random = new Random(5);
+        for (int i = 0; i < 100; i++) {
+            String from = stations.get(random.nextInt(stations.size())).getCode();
+            String to = stations.get(random.nextInt(stations.size())).getCode();
+
+            List<Station> expected = plain.findPath(from, to);
+            plain.resetState();
+            List<Station> path = haversine.findPath(from, to);
+            haversine.resetState();
+
+            if (expected == null) {
+                assertNull(path);
+            } else {
+                assertEquals(plain.calculateTotalPathWeight(expected), haversine.calculateTotalPathWeight(path), 1e-9);
+            }
+        }
+        assertTrue(haversine.getStatistics().getExpandedNodeCount() < plain.getStatistics().getExpandedNodeCount());
+    }
+}
@@ -0,0 +1,115 @@
+package graph;
+
+import model.Station;
+import model.Track;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestInducedSubgraph {
+
+    private WeightedMatrixGraph<Station> graph;
+    private Station a, b, c, d;
+
+    @BeforeEach
+    void setUp() {
+        a = new Station(1, "A", "A", "NL", "station", 45.12, 5.12);
+        b = new Station(2, "B", "B", "NL", "station", 35.24, 6.12);
+        c = new Station(3, "C", "C", "NL", "station", 75.62, 5.17);
+        d = new Station(4, "D", "D", "NL", "station", 55.34, 6.27);
+        graph = new WeightedMatrixGraph<>(false, a, b, c, d);
+        graph.connect(a, b, 1);
+        graph.connect(b, c, 2);
+        graph.connect(c, d, 3);
+        graph.connect(a, d, 4);
+    }
+
+    @Test
+    void testOnlyConnectionsWithinTheView() {
+        InducedSubgraph<Station> view = InducedSubgraph.of(graph, List.of(a, b, d));
+
+        assertEquals(3, view.getVertexCount());
+        assertEquals(a, view.vertexAt(0));
+        assertEquals(b, view.vertexAt(1));
+        assertEquals(d, view.vertexAt(2));
+        assertTrue(view.contains(d));
+        assertFalse(view.contains(c));
+        assertTrue(view.areConnected(a, d));
+        assertFalse(view.areConnected(b, d));
+        assertEquals(4.0, view.getWeight(a, d));
+        assertNull(view.getWeight(b, d));
+        assertArrayEquals(new int[]{0}, view.getNeighbourIndices(1)); // c is not part of the view
+        assertEquals(List.of(a), view.getConnectedNeighbours(b));
+        assertThrows(IllegalArgumentException.class, () -> view.getWeight(a, c));
+    }
+
+    @Test
+    void testTraversalAndSpanningTree() {
+        InducedSubgraph<Station> view = InducedSubgraph.of(graph, List.of(a, b, c));
+
+        assertEquals(List.of(a, b, c), view.breadthFirst(a));
+        MCSTPrim prim = new MCSTPrim(view);
+        prim.setPrintSteps(false);
+        prim.prim(a);
+        assertEquals(3.0, prim.calculateTotalLength());
+        assertEquals(b, prim.getParentMap().get(c));
+        assertFalse(prim.getParentMap().containsKey(d));
+    }
+
+    @Test
+    void testSeesChangesOfTheParent() {
+        InducedSubgraph<Station> view = InducedSubgraph.of(graph, List.of(b, d));
+        assertFalse(view.areConnected(b, d));
+
+        graph.connect(b, d, 7);
+
+        assertTrue(view.areConnected(b, d));
+    }
+
+    @Test
+    void testSameAsCopiedSubgraphOnTheNetwork() {
+        List<Station> stations = Station.convertToList(Station.readFromCSV("resources/stations.csv"));
+        List<Track> tracks = Track.readFromCSV("resources/tracks.csv");
+        CompressedSparseRowGraph<Station> network = new GraphBuilder(stations, tracks).build(false);
+        Random random = new Random(4);
+
+        for (int round = 0; round < 20; round++) {
+            List<Station> part = new ArrayList<>();
+            long[] mask = new long[(stations.size() + 63) / 64];
+            for (int i = 0; i < stations.size(); i++) {
+                if (random.nextInt(3) > 0) {
+                    part.add(stations.get(i));
+                    mask[i / 64] |= 1L << i;
+                }
+            }
+            InducedSubgraph<Station> view = new InducedSubgraph<>(network, mask);
+            CompressedSparseRowGraph<Station> copy = new GraphBuilder(part, tracks).build(false);
+
+            assertEquals(part.size(), view.getVertexCount());
+            for (int i = 0; i < part.size(); i++) {
+                assertEquals(part.get(i), view.vertexAt(i));
+                assertEquals(i, view.toLocalIndex(view.toParentIndex(i)));
+                assertArrayEquals(copy.getNeighbourIndices(i), view.getNeighbourIndices(i));
+            }
+
+            MCSTKruskal fromView = new MCSTKruskal(view);
+            fromView.kruskal();
+            MCSTKruskal fromCopy = new MCSTKruskal(copy);
+            fromCopy.kruskal();
+            assertEquals(fromCopy.calculateTotalLength(), fromView.calculateTotalLength(), 1e-9);
+        }
+    }
+
+    @Test
+    void testEmptyView() {
+        InducedSubgraph<Station> view = new InducedSubgraph<>(graph, new long[1]);
+        assertEquals(0, view.getVertexCount());
+        assertThrows(IndexOutOfBoundsException.class, () -> view.toParentIndex(0));
+        assertEquals(-1, view.toLocalIndex(0));
+    }
+}
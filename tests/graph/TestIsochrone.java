@@ -0,0 +1,85 @@
+package graph;
+
+import model.Station;
+import model.Track;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestIsochrone {
+
+    private List<Station> stations;
+    private CompressedSparseRowGraph<Station> network;
+
+    @BeforeEach
+    void setUp() {
+        stations = Station.convertToList(Station.readFromCSV("resources/stations.csv"));
+        List<Track> tracks = Track.readFromCSV("resources/tracks.csv");
+        network = new GraphBuilder(stations, tracks).build(false);
+    }
+
+    @Test
+    void testSmallGraph() {
+        Station a = new Station(1, "A", "A", "NL", "station", 45.12, 5.12);
+        Station b = new Station(2, "B", "B", "NL", "station", 35.24, 6.12);
+        Station c = new Station(3, "C", "C", "NL", "station", 75.62, 5.17);
+        Station d = new Station(4, "D", "D", "NL", "station", 55.34, 6.27);
+        WeightedMatrixGraph<Station> graph = new WeightedMatrixGraph<>(false, a, b, c, d);
+        graph.connect(a, b, 1);
+        graph.connect(b, c, 2);
+        graph.connect(a, c, 4);
+        graph.connect(c, d, 5);
+
+        Isochrone isochrone = DijkstraAlgorithm.reachableWithin(graph, a, 3);
+
+        assertEquals(3, isochrone.size());
+        assertArrayEquals(new int[]{0, 1, 2}, isochrone.getVertices());
+        assertArrayEquals(new double[]{0, 1, 3}, isochrone.getDistances());
+        assertEquals(1, DijkstraAlgorithm.reachableWithin(graph, a, 0).size());
+        assertEquals(4, DijkstraAlgorithm.reachableWithin(graph, a, Double.POSITIVE_INFINITY).size());
+    }
+
+    @Test
+    void testSameAsFullSearch() {
+        Random random = new Random(3);
+        for (int i = 0; i < 100; i++) {
+            int source = random.nextInt(stations.size());
+            double budget = random.nextInt(200);
+            double[] expected = DijkstraAlgorithm.distancesFrom(network, source);
+
+            Isochrone isochrone = DijkstraAlgorithm.reachableWithin(network, source, budget);
+
+            int within = 0;
+            for (double distance : expected) {
+                if (distance <= budget) {
+                    within++;
+                }
+            }
+            assertEquals(within, isochrone.size());
+            assertEquals(source, isochrone.vertexAt(0));
+            for (int j = 0; j < isochrone.size(); j++) {
+                assertEquals(expected[isochrone.vertexAt(j)], isochrone.distanceAt(j), 1e-9);
+                if (j > 0) {
+                    assertTrue(isochrone.distanceAt(j - 1) <= isochrone.distanceAt(j));
+                }
+            }
+        }
+    }
+
+    @Test
+    void testByCode() {
+        AStarPathFinding astar = new AStarPathFinding(network);
+        String code = stations.get(0).getCode();
+
+        Isochrone isochrone = astar.reachableWithin(code, 50);
+
+        assertEquals(code, network.vertexAt(isochrone.getSource()).getCode());
+        assertEquals(50, isochrone.getBudget());
+        assertThrows(IllegalArgumentException.class, () -> astar.reachableWithin("XXXX", 50));
+        assertThrows(IllegalArgumentException.class, () -> astar.reachableWithin(code, -1));
+    }
+}
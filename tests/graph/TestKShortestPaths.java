@@ -0,0 +1,152 @@
+package graph;
+
+import model.Station;
+import model.Track;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestKShortestPaths {
+
+    private List<Station> stations;
+    private CompressedSparseRowGraph<Station> network;
+
+    @BeforeEach
+    void setUp() {
+        stations = Station.convertToList(Station.readFromCSV("resources/stations.csv"));
+        List<Track> tracks = Track.readFromCSV("resources/tracks.csv");
+        network = new GraphBuilder(stations, tracks).build(false);
+    }
+
+    private static Station station(int id) {
+        return new Station(id, "S" + id, "S" + id, "NL", "station", 52.0, 5.0);
+    }
+
+    @Test
+    void testSmallGraph() {
+        Station a = station(1);
+        Station b = station(2);
+        Station c = station(3);
+        Station d = station(4);
+        WeightedMatrixGraph<Station> graph = new WeightedMatrixGraph<>(false, a, b, c, d);
+        graph.connect(a, b, 1);
+        graph.connect(b, d, 1);
+        graph.connect(a, c, 2);
+        graph.connect(c, d, 2);
+        graph.connect(b, c, 1);
+
+        List<Route> routes = new KShortestPaths(graph).findRoutes(a, d, 10);
+
+        assertEquals(4, routes.size());
+        assertEquals(List.of(a, b, d), routes.get(0).getStations());
+        assertEquals(2.0, routes.get(0).getTotalWeight());
+        assertEquals(List.of(a, c, d), routes.get(1).getStations());
+        assertEquals(List.of(a, b, c, d), routes.get(2).getStations());
+        assertEquals(List.of(a, c, b, d), routes.get(3).getStations());
+        assertEquals(4.0, routes.get(3).getTotalWeight());
+    }
+
+    @Test
+    void testSameAsAllSimplePathsOnRandomGraphs() {
+        Random random = new Random(5);
+        for (int round = 0; round < 50; round++) {
+            Station[] vertices = new Station[7];
+            for (int i = 0; i < vertices.length; i++) {
+                vertices[i] = station(i + 1);
+            }
+            WeightedMatrixGraph<Station> graph = new WeightedMatrixGraph<>(false, vertices);
+            for (int i = 0; i < vertices.length; i++) {
+                for (int j = i + 1; j < vertices.length; j++) {
+                    if (random.nextInt(2) == 0) {
+                        graph.connect(vertices[i], vertices[j], random.nextInt(4));
+                    }
+                }
+            }
+
+            List<Double> expected = new ArrayList<>();
+            allSimplePaths(graph, 0, 6, new boolean[vertices.length], 0, expected);
+            expected.sort(null);
+
+            List<Route> routes = new KShortestPaths(graph).findRoutes(vertices[0], vertices[6], 8);
+            assertEquals(Math.min(8, expected.size()), routes.size());
+            for (int i = 0; i < routes.size(); i++) {
+                assertEquals(expected.get(i), routes.get(i).getTotalWeight(), 1e-9);
+            }
+        }
+    }
+
+    private static void allSimplePaths(WeightedMatrixGraph<Station> graph, int at, int goal, boolean[] onPath,
+                                       double length, List<Double> lengths) {
+        if (at == goal) {
+            lengths.add(length);
+            return;
+        }
+        onPath[at] = true;
+        for (int next : graph.getNeighbourIndices(at)) {
+            if (!onPath[next]) {
+                allSimplePaths(graph, next, goal, onPath, length + graph.getWeightByIndex(at, next), lengths);
+            }
+        }
+        onPath[at] = false;
+    }
+
+    @Test
+    void testRoutesOnTheNetwork() {
+        AStarPathFinding astar = new AStarPathFinding(network);
+        KShortestPaths kShortestPaths = new KShortestPaths(network);
+        Random random = new Random(17);
+        for (int i = 0; i < 50; i++) {
+            String from = stations.get(random.nextInt(stations.size())).getCode();
+            String to = stations.get(random.nextInt(stations.size())).getCode();
+            Route shortest = astar.findRoute(from, to);
+            List<Route> routes = kShortestPaths.findRoutes(from, to, 5);
+            if (shortest == null) {
+                assertTrue(routes.isEmpty());
+                continue;
+            }
+            assertEquals(shortest.getTotalWeight(), routes.get(0).getTotalWeight(), 1e-9);
+
+            Set<List<Station>> distinct = new HashSet<>();
+            double previous = 0;
+            for (Route route : routes) {
+                List<Station> path = route.getStations();
+                assertEquals(from, path.get(0).getCode());
+                assertEquals(to, path.get(path.size() - 1).getCode());
+                assertEquals(path.size(), new HashSet<>(path).size(), "route has a loop");
+                assertEquals(astar.calculateTotalPathWeight(path), route.getTotalWeight(), 1e-9);
+                assertTrue(route.getTotalWeight() >= previous - 1e-9);
+                assertTrue(distinct.add(path));
+                previous = route.getTotalWeight();
+            }
+        }
+    }
+
+    @Test
+    void testUnreachableGoal() {
+        Station a = station(1);
+        Station b = station(2);
+        Station c = station(3);
+        WeightedMatrixGraph<Station> graph = new WeightedMatrixGraph<>(false, a, b, c);
+        graph.connect(a, b, 1);
+
+        assertTrue(new KShortestPaths(graph).findRoutes(a, c, 3).isEmpty());
+        assertEquals(1, new KShortestPaths(graph).findRoutes(a, b, 3).size());
+    }
+
+    @Test
+    void testInvalidArguments() {
+        KShortestPaths kShortestPaths = new KShortestPaths(network);
+        String code = stations.get(0).getCode();
+        assertThrows(IllegalArgumentException.class, () -> kShortestPaths.findRoutes("XXXX", code, 3));
+        assertThrows(IllegalArgumentException.class, () -> kShortestPaths.findRoutes(code, code, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> new KShortestPaths(new WeightedMatrixGraph<>(true, station(1), station(2))));
+    }
+}
@@ -0,0 +1,116 @@
+package graph;
+
+import model.Station;
+import model.Track;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestLandmarkHeuristic {
+
+    private List<Station> stations;
+    private CompressedSparseRowGraph<Station> network;
+
+    @BeforeEach
+    void setUp() {
+        stations = Station.convertToList(Station.readFromCSV("resources/stations.csv"));
+        List<Track> tracks = Track.readFromCSV("resources/tracks.csv");
+        network = new GraphBuilder(stations, tracks).build(false);
+    }
+
+    @Test
+    void testEstimateNeverExceedsTrackDistance() {
+        LandmarkHeuristic heuristic = LandmarkHeuristic.farthest(network, 8);
+        Random random = new Random(3);
+        for (int i = 0; i < 20; i++) {
+            int goal = random.nextInt(stations.size());
+            double[] distances = DijkstraAlgorithm.distancesFrom(network, goal);
+            for (int v = 0; v < distances.length; v++) {
+                if (distances[v] != Double.POSITIVE_INFINITY) {
+                    assertTrue(heuristic.estimate(v, goal) <= distances[v] + 1e-9);
+                }
+            }
+            assertEquals(0.0, heuristic.estimate(goal, goal));
+        }
+    }
+
+    @Test
+    void testEstimatorOfTheGoalGivesTheSameBound() {
+        LandmarkHeuristic heuristic = LandmarkHeuristic.farthest(network, 8);
+        Random random = new Random(6);
+        for (int i = 0; i < 20; i++) {
+            int goal = random.nextInt(stations.size());
+            Heuristic.Estimator estimator = heuristic.forGoal(goal);
+            for (int v = 0; v < stations.size(); v++) {
+                assertEquals(heuristic.estimate(v, goal), estimator.estimate(v));
+            }
+        }
+    }
+
+    @Test
+    void testRejectsDirectedGraph() {
+        Station a = new Station(1, "A", "A", "NL", "station", 52.0, 5.0);
+        Station b = new Station(2, "B", "B", "NL", "station", 52.1, 5.0);
+        WeightedMatrixGraph<Station> directed = new WeightedMatrixGraph<>(true, a, b);
+        directed.connect(a, b, 10);
+        assertThrows(IllegalArgumentException.class, () -> LandmarkHeuristic.farthest(directed, 1));
+    }
+
+    @Test
+    void testLandmarksOfType() {
+        LandmarkHeuristic heuristic = LandmarkHeuristic.ofType(network, "knooppuntIntercitystation", 4);
+        assertEquals(4, heuristic.getLandmarks().length);
+        for (int landmark : heuristic.getLandmarks()) {
+            assertEquals("knooppuntIntercitystation", network.vertexAt(landmark).getType());
+        }
+        assertThrows(IllegalArgumentException.class, () -> LandmarkHeuristic.ofType(network, "airport", 4));
+        assertThrows(IllegalArgumentException.class, () -> LandmarkHeuristic.farthest(network, 0));
+    }
+
+    @Test
+    void testDistancesFrom() {
+        Station a = new Station(1, "A", "A", "NL", "station", 45.12, 5.12);
+        Station b = new Station(2, "B", "B", "NL", "station", 35.24, 6.12);
+        Station c = new Station(3, "C", "C", "NL", "station", 75.62, 5.17);
+        Station d = new Station(4, "D", "D", "NL", "station", 55.34, 6.27);
+        WeightedMatrixGraph<Station> graph = new WeightedMatrixGraph<>(false, a, b, c, d);
+        graph.connect(a, b, 1);
+        graph.connect(b, c, 2);
+        graph.connect(a, c, 5);
+
+        assertArrayEquals(new double[]{0, 1, 3, Double.POSITIVE_INFINITY}, DijkstraAlgorithm.distancesFrom(graph, 0));
+    }
+
+    @Test
+    void testAStarWithLandmarksExpandsFewerStations() {
+        AStarPathFinding plain = new AStarPathFinding(network);
+        AStarPathFinding alt = new AStarPathFinding(network);
+        alt.useLandmarks(8);
+
+        Random random = new Random(11);
+        long plainExpanded = 0;
+        long altExpanded = 0;
+        for (int i = 0; i < 100; i++) {
+            String from = stations.get(random.nextInt(stations.size())).getCode();
+            String to = stations.get(random.nextInt(stations.size())).getCode();
+
+            List<Station> expected = plain.findPath(from, to);
+            plainExpanded += plain.getExpandedNodeCount();
+            plain.resetState();
+            List<Station> path = alt.findPath(from, to);
+            altExpanded += alt.getExpandedNodeCount();
+            alt.resetState();
+
+            if (expected == null) {
+                assertNull(path);
+            } else {
+                assertEquals(plain.calculateTotalPathWeight(expected), alt.calculateTotalPathWeight(path), 1e-9);
+            }
+        }
+        assertTrue(altExpanded < plainExpanded);
+    }
+}
@@ -0,0 +1,98 @@
+package graph;
+
+import model.Station;
+import model.Track;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestMCSTBoruvka extends AbstractSpanningTreeTest {
+
+    @Override
+    protected SpanningTree spanningTree(AbstractWeightedGraph<Station> graph) {
+        MCSTBoruvka boruvka = new MCSTBoruvka(graph);
+        return new SpanningTree() {
+            @Override
+            public void build() {
+                boruvka.boruvka();
+            }
+
+            @Override
+            public double calculateTotalLength() {
+                return boruvka.calculateTotalLength();
+            }
+
+            @Override
+            public List<Edge> getEdges() {
+                return boruvka.getEdges();
+            }
+
+            @Override
+            public int getComponentCount() {
+                return boruvka.getComponentCount();
+            }
+        };
+    }
+
+    @Test
+    void testSameTreeOnEveryPool() {
+        List<Station> stations = Station.convertToList(Station.readFromCSV("resources/stations.csv"));
+        List<Track> tracks = Track.readFromCSV("resources/tracks.csv");
+        CompressedSparseRowGraph<Station> network = new GraphBuilder(stations, tracks).build(false);
+        MCSTKruskal kruskal = new MCSTKruskal(network);
+        kruskal.kruskal();
+
+        ForkJoinPool single = new ForkJoinPool(1);
+        ForkJoinPool four = new ForkJoinPool(4);
+        try {
+            MCSTBoruvka sequential = new MCSTBoruvka(network, single);
+            sequential.boruvka();
+            MCSTBoruvka parallel = new MCSTBoruvka(network, four);
+            parallel.boruvka();
+
+            // weights are tied by position, so the tree is the same no matter how the threads interleave
+            assertEquals(new HashSet<>(sequential.getEdges()), new HashSet<>(parallel.getEdges()));
+            assertEquals(new HashSet<>(kruskal.getEdges()), new HashSet<>(parallel.getEdges()));
+            assertEquals(kruskal.calculateTotalLength(), parallel.calculateTotalLength(), 1e-9);
+        } finally {
+            single.shutdown();
+            four.shutdown();
+        }
+    }
+
+    @Test
+    void testRoundsOnALargeGraph() {
+        // a large random graph with many equal weights, which must not close cycles
+        Random random = new Random(19);
+        int n = 5000;
+        Station[] stations = new Station[n];
+        for (int v = 0; v < n; v++) {
+            stations[v] = new Station(v + 1, "S" + v, "S" + v, "NL", "station", 0.0, 0.0);
+        }
+        int edgeCount = 4 * n;
+        int[] from = new int[edgeCount];
+        int[] to = new int[edgeCount];
+        double[] weight = new double[edgeCount];
+        for (int e = 0; e < edgeCount; e++) {
+            from[e] = e < n - 1 ? e : random.nextInt(n);
+            to[e] = e < n - 1 ? e + 1 : random.nextInt(n);
+            weight[e] = 1 + random.nextInt(5);
+        }
+        CompressedSparseRowGraph<Station> graph = new CompressedSparseRowGraph<>(false, List.of(stations), from, to, weight, edgeCount);
+
+        MCSTBoruvka boruvka = new MCSTBoruvka(graph);
+        boruvka.boruvka();
+        MCSTKruskal kruskal = new MCSTKruskal(graph);
+        kruskal.kruskal();
+
+        assertEquals(kruskal.calculateTotalLength(), boruvka.calculateTotalLength(), 1e-9);
+        assertEquals(n - 1, boruvka.getEdges().size());
+        assertEquals(1, boruvka.getComponentCount());
+        assertTrue(boruvka.getRoundCount() <= 32 - Integer.numberOfLeadingZeros(n), "more than log2(n) rounds");
+    }
+}
@@ -0,0 +1,34 @@
+package graph;
+
+import model.Station;
+
+import java.util.List;
+
+class TestMCSTKruskal extends AbstractSpanningTreeTest {
+
+    @Override
+    protected SpanningTree spanningTree(AbstractWeightedGraph<Station> graph) {
+        MCSTKruskal kruskal = new MCSTKruskal(graph);
+        return new SpanningTree() {
+            @Override
+            public void build() {
+                kruskal.kruskal();
+            }
+
+            @Override
+            public double calculateTotalLength() {
+                return kruskal.calculateTotalLength();
+            }
+
+            @Override
+            public List<Edge> getEdges() {
+                return kruskal.getEdges();
+            }
+
+            @Override
+            public int getComponentCount() {
+                return kruskal.getComponentCount();
+            }
+        };
+    }
+}
@@ -1,8 +1,11 @@
 package graph;
 
 import model.Station;
+import model.Track;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class TestMCSTPrim {
@@ -110,4 +113,33 @@ class TestMCSTPrim {
         prim.prim(a);
         assertNull(prim.getParentMap().get(j)); // j should have no parent since it's disconnected
     }
+
+    @Test
+    void testSameLengthAsKruskalOnTheNetwork() {
+        // the queue is keyed on the edge weights, so on the real network the spanning forest is minimal too
+        List<Station> stations = Station.convertToList(Station.readFromCSV("resources/stations.csv"));
+        List<Track> tracks = Track.readFromCSV("resources/tracks.csv");
+        CompressedSparseRowGraph<Station> network = new GraphBuilder(stations, tracks).build(false);
+        prim = new MCSTPrim(network);
+        prim.setPrintSteps(false);
+        prim.prim(network.vertexAt(0));
+        MCSTKruskal kruskal = new MCSTKruskal(network);
+        kruskal.kruskal();
+
+        assertEquals(kruskal.calculateTotalLength(), prim.calculateTotalLength(), 1e-9);
+    }
+
+    @Test
+    void testDisconnectedPartsGetTheirOwnTree() {
+        Station j = new Station(10, "J", "J", "NL", "station", 0.0, 0.0);
+        Station k = new Station(11, "K", "K", "NL", "station", 0.0, 0.0);
+        graph.addVertex(j);
+        graph.addVertex(k);
+        graph.connect(j, k, 3);
+        prim.setPrintSteps(false);
+        prim.prim(a);
+
+        assertEquals(j, prim.getParentMap().get(k));
+        assertEquals(37.0 + 3.0, prim.calculateTotalLength());
+    }
 }
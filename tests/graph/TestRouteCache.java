@@ -0,0 +1,110 @@
+package graph;
+
+import model.Station;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestRouteCache {
+
+    private WeightedMatrixGraph<Station> graph;
+    private Station a, b, c, d;
+
+    @BeforeEach
+    void setUp() {
+        a = new Station(1, "A", "A", "NL", "station", 52.0, 5.0);
+        b = new Station(2, "B", "B", "NL", "station", 52.1, 5.0);
+        c = new Station(3, "C", "C", "NL", "station", 52.2, 5.0);
+        d = new Station(4, "D", "D", "NL", "station", 52.3, 5.0);
+        graph = new WeightedMatrixGraph<>(false, a, b, c, d);
+        graph.connect(a, b, 12);
+        graph.connect(b, c, 12);
+        graph.connect(c, d, 12);
+    }
+
+    @Test
+    void testHitsAndMisses() {
+        RouteCache cache = new RouteCache(new AStarPathFinding(graph), 10);
+        Route route = cache.findRoute("a", "c");
+        assertEquals(List.of(a, b, c), route.getStations());
+        assertEquals(24.0, route.getTotalWeight());
+        assertSame(route, cache.findRoute("A", " c"));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(0.5, cache.getHitRate());
+    }
+
+    @Test
+    void testSymmetricLookup() {
+        RouteCache cache = new RouteCache(new AStarPathFinding(graph), 10);
+        cache.findPath("a", "d");
+        assertEquals(List.of(d, c, b, a), cache.findPath("d", "a"));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void testLeastRecentlyUsedIsEvicted() {
+        RouteCache cache = new RouteCache(new AStarPathFinding(graph), 2);
+        cache.findPath("a", "b");
+        cache.findPath("a", "c");
+        cache.findPath("a", "b"); // a - c is now the least recently used
+        cache.findPath("a", "d");
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictionCount());
+
+        cache.findPath("a", "b");
+        assertEquals(2, cache.getHitCount());
+        cache.findPath("a", "c");
+        assertEquals(2, cache.getHitCount());
+    }
+
+    @Test
+    void testFrequencyAdmissionKeepsPopularRoutes() {
+        RouteCache cache = new RouteCache(new AStarPathFinding(graph), 1, RouteCache.EvictionPolicy.FREQUENCY);
+        for (int i = 0; i < 5; i++) {
+            cache.findPath("a", "d");
+        }
+        // a one-off query does not replace the popular route
+        cache.findPath("b", "c");
+        assertEquals(0, cache.getEvictionCount());
+        cache.findPath("a", "d");
+        assertEquals(5, cache.getHitCount());
+    }
+
+    @Test
+    void testEmptiedWhenNetworkIsRebuilt() {
+        AStarPathFinding pathFinder = new AStarPathFinding(graph);
+        pathFinder.setHeuristic(HaversineHeuristic.calibrated(graph));
+        RouteCache cache = new RouteCache(pathFinder, 10);
+        assertEquals(36.0, cache.findRoute("a", "d").getTotalWeight());
+
+        // a changed network is a new network, with a new path finding and a heuristic calibrated on it
+        WeightedMatrixGraph<Station> changed = new WeightedMatrixGraph<>(false, a, b, c, d);
+        changed.connect(a, b, 12);
+        changed.connect(b, c, 12);
+        changed.connect(c, d, 12);
+        changed.connect(a, d, 20);
+        AStarPathFinding rebuilt = new AStarPathFinding(new RouteNetwork(changed));
+        rebuilt.setHeuristic(HaversineHeuristic.calibrated(changed));
+        cache.rebuild(rebuilt);
+
+        assertEquals(1, cache.getNetworkVersion());
+        assertEquals(0, cache.size());
+        assertEquals(List.of(a, d), cache.findPath("a", "d"));
+        assertEquals(20.0, cache.findRoute("d", "a").getTotalWeight());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getInvalidationCount());
+    }
+
+    @Test
+    void testUnknownStationsAreNotCached() {
+        RouteCache cache = new RouteCache(new AStarPathFinding(graph), 10);
+        assertNull(cache.findPath("a", "x"));
+        assertEquals(0, cache.size());
+        assertThrows(IllegalArgumentException.class, () -> new RouteCache(new AStarPathFinding(graph), 0));
+    }
+}
@@ -0,0 +1,44 @@
+package graph;
+
+import model.Station;
+import model.Track;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestRouteNetwork {
+
+    @Test
+    void testFindStationIgnoresCaseAndSpaces() {
+        Station a = new Station(1, "AMS", "Amsterdam", "NL", "megastation", 52.3702, 4.8952);
+        Station b = new Station(2, "RTD", "Rotterdam", "NL", "megastation", 51.9225, 4.4792);
+        RouteNetwork network = new RouteNetwork(List.of(a, b), List.of(new Track("ams", "rtd", 60, 60, 30)));
+
+        assertEquals(2, network.getStationCount());
+        assertSame(a, network.findStation(" ams "));
+        assertSame(b, network.findStation("RTD"));
+        assertNull(network.findStation("ut"));
+        assertEquals(network.getGraph().indexOf(b), network.indexOf("rtd"));
+        assertEquals(-1, network.indexOf("ut"));
+        assertEquals(60.0, network.getGraph().getWeight(a, b));
+    }
+
+    @Test
+    void testRegistryHasTheVertexOrder() {
+        Station a = new Station(1, "AMS", "8400058", "Amsterdam", "NL", "megastation", 52.3702, 4.8952);
+        Station b = new Station(2, "RTD", "8400530", "Rotterdam", "NL", "megastation", 51.9225, 4.4792);
+        RouteNetwork built = new RouteNetwork(List.of(a, b), List.of(new Track("ams", "rtd", 60, 60, 30)));
+        RouteNetwork wrapped = new RouteNetwork(built.getGraph());
+
+        for (RouteNetwork network : List.of(built, wrapped)) {
+            assertEquals(2, network.getRegistry().size());
+            for (int i = 0; i < network.getStationCount(); i++) {
+                assertSame(network.getGraph().vertexAt(i), network.getRegistry().stationAt(i));
+            }
+            assertSame(b, network.getRegistry().getByUic("8400530"));
+            assertSame(a, network.getRegistry().getById(1));
+        }
+    }
+}
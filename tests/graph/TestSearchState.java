@@ -0,0 +1,40 @@
+package graph;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestSearchState {
+
+    @Test
+    void testNewSearchForgetsPreviousSearch() {
+        SearchState state = new SearchState();
+        state.start(3);
+        state.update(1, 4.5, 0);
+        state.close(1);
+        assertTrue(state.isReached(1));
+        assertEquals(4.5, state.distance(1));
+        assertEquals(0, state.parent(1));
+        assertTrue(state.isClosed(1));
+
+        state.start(3);
+        assertFalse(state.isReached(1));
+        assertEquals(Double.POSITIVE_INFINITY, state.distance(1));
+        assertEquals(-1, state.parent(1));
+        assertFalse(state.isClosed(1));
+    }
+
+    @Test
+    void testReopenAndGrow() {
+        SearchState state = new SearchState();
+        state.start(2);
+        state.close(0);
+        state.reopen(0);
+        assertFalse(state.isClosed(0));
+
+        state.start(5);
+        state.update(4, 1.0, 3);
+        assertEquals(1.0, state.distance(4));
+        assertEquals(Double.POSITIVE_INFINITY, state.distance(0));
+    }
+}
@@ -1,5 +1,6 @@
 package graph;
 import model.Station;
+import model.Track;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
@@ -45,7 +46,8 @@ class TestStationsWithinRectangle {
 
         String output = outContent.toString();
 
-        assertTrue(output.contains("Total length of the minimum spanning tree: 86.0"));
+        // the 26 stations form three parts, the spanning forest covers all of them
+        assertTrue(output.contains("Total length of the minimum spanning tree: 142.0"));
 
         assertTrue(output.contains("Stations within the rectangle:"));
 
@@ -131,4 +133,31 @@ class TestStationsWithinRectangle {
 
         System.setOut(System.out);
     }
+
+    @Test
+    void testSharedNetworkGivesTheSameResult() {
+        List<Station> stations = Station.convertToList(Station.readFromCSV("resources/stations.csv"));
+        List<Track> tracks = Track.readFromCSV("resources/tracks.csv");
+        RouteNetwork network = new RouteNetwork(stations, tracks);
+        StationsWithinRectangle shared = new StationsWithinRectangle(network);
+
+        PrintStream standardOut = System.out;
+        ByteArrayOutputStream fromFiles = new ByteArrayOutputStream();
+        ByteArrayOutputStream fromNetwork = new ByteArrayOutputStream();
+        try {
+            System.setOut(new PrintStream(fromFiles));
+            swr.calculateMinimumSpanningTree(51.8, 4.0, 52.5, 5.2);
+            System.setOut(new PrintStream(fromNetwork));
+            shared.calculateMinimumSpanningTree(51.8, 4.0, 52.5, 5.2);
+            // a second query on the same instance gives the same answer
+            shared.calculateMinimumSpanningTree(51.8, 4.0, 52.5, 5.2);
+        } finally {
+            System.setOut(standardOut);
+        }
+
+        String expected = fromFiles.toString();
+        assertTrue(expected.contains("Total length of the minimum spanning tree: "));
+        assertEquals(expected + expected, fromNetwork.toString());
+        assertSame(network.findStation("DV"), shared.findStationByCode("dv"));
+    }
 }
@@ -0,0 +1,49 @@
+package graph;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestUnionFind {
+
+    @Test
+    void testInitiallySeparate() {
+        UnionFind sets = new UnionFind(4);
+        assertEquals(4, sets.getSetCount());
+        assertFalse(sets.connected(0, 1));
+        assertEquals(2, sets.find(2));
+        assertEquals(1, sets.sizeOf(3));
+    }
+
+    @Test
+    void testUnion() {
+        UnionFind sets = new UnionFind(6);
+        assertTrue(sets.union(0, 1));
+        assertTrue(sets.union(2, 3));
+        assertTrue(sets.union(1, 3));
+        assertFalse(sets.union(0, 2));
+
+        assertTrue(sets.connected(0, 3));
+        assertFalse(sets.connected(0, 4));
+        assertEquals(4, sets.sizeOf(2));
+        assertEquals(3, sets.getSetCount());
+        assertEquals(sets.find(0), sets.find(3));
+    }
+
+    @Test
+    void testLongChain() {
+        UnionFind sets = new UnionFind(10000);
+        for (int i = 1; i < 10000; i++) {
+            sets.union(i - 1, i);
+        }
+        assertEquals(1, sets.getSetCount());
+        assertTrue(sets.connected(0, 9999));
+    }
+
+    @Test
+    void testElementOutOfRange() {
+        UnionFind sets = new UnionFind(3);
+        assertThrows(IllegalArgumentException.class, () -> sets.find(3));
+        assertThrows(IllegalArgumentException.class, () -> sets.union(-1, 0));
+    }
+}
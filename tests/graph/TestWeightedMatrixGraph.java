@@ -209,6 +209,35 @@ class TestWeightedMatrixGraph {
         assertEquals(expected, testGraph.toString());
     }
 
+    @Test
+    void testIndexOfAndVertexAt() {
+        assertEquals(2, directedGraphTestFromSlides.indexOf(3));
+        assertEquals(-1, directedGraphTestFromSlides.indexOf(100));
+        assertEquals(Integer.valueOf(3), directedGraphTestFromSlides.vertexAt(2));
 
+        directedGraphTestFromSlides.addVertex(7);
+        assertEquals(6, directedGraphTestFromSlides.indexOf(7));
+        assertEquals(6, directedGraphTestFromSlides.getIndex(7));
+    }
+
+    @Test
+    void testIndexBasedWeightAndNeighbours() {
+        int one = directedGraphTestFromSlides.indexOf(1);
+        int two = directedGraphTestFromSlides.indexOf(2);
+        int four = directedGraphTestFromSlides.indexOf(4);
 
+        assertEquals(1.0, directedGraphTestFromSlides.getWeightByIndex(one, two));
+        assertEquals(-1.0, directedGraphTestFromSlides.getWeightByIndex(two, four));
+        assertEquals(Double.POSITIVE_INFINITY, directedGraphTestFromSlides.getWeightByIndex(four, two));
+        assertArrayEquals(new int[]{1, 2}, directedGraphTestFromSlides.getNeighbourIndices(one));
+        assertArrayEquals(new int[]{}, directedGraphTestFromSlides.getNeighbourIndices(directedGraphTestFromSlides.indexOf(6)));
+    }
+
+    @Test
+    void testForEachNeighbourPassesIndexAndWeight() {
+        List<String> visited = new java.util.ArrayList<>();
+        directedGraphTestFromSlides.forEachNeighbour(directedGraphTestFromSlides.indexOf(1),
+                (target, weight) -> visited.add(directedGraphTestFromSlides.vertexAt(target) + "=" + weight));
+        assertEquals(Arrays.asList("2=1.0", "3=12.0"), visited);
+    }
 }
@@ -0,0 +1,130 @@
+package heap;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.PriorityQueue;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestIndexedMinHeap {
+    private IndexedMinHeap heap;
+
+    @BeforeEach
+    public void setUp() {
+        heap = new IndexedMinHeap(10);
+    }
+
+    @Test
+    public void testIsEmptyInitially() {
+        assertTrue(heap.isEmpty());
+        assertEquals(0, heap.getSize());
+        assertEquals(10, heap.getCapacity());
+    }
+
+    @Test
+    public void testInsertAndPop() {
+        heap.insert(3, 9.0);
+        heap.insert(7, 1.5);
+        heap.insert(1, 4.0);
+        assertEquals(7, heap.peek());
+        assertEquals(1.5, heap.peekKey());
+        assertEquals(7, heap.pop());
+        assertEquals(1, heap.pop());
+        assertEquals(3, heap.pop());
+        assertTrue(heap.isEmpty());
+    }
+
+    @Test
+    public void testDecreaseKey() {
+        heap.insert(0, 5.0);
+        heap.insert(1, 6.0);
+        heap.insert(2, 7.0);
+        heap.decreaseKey(2, 1.0);
+        assertEquals(1.0, heap.keyOf(2));
+        assertEquals(2, heap.pop());
+        assertThrows(IllegalArgumentException.class, () -> heap.decreaseKey(0, 8.0));
+        assertThrows(IllegalArgumentException.class, () -> heap.decreaseKey(2, 0.0));
+    }
+
+    @Test
+    public void testInsertOrDecrease() {
+        assertTrue(heap.insertOrDecrease(4, 3.0));
+        assertFalse(heap.insertOrDecrease(4, 3.5));
+        assertTrue(heap.insertOrDecrease(4, 2.0));
+        assertEquals(2.0, heap.keyOf(4));
+        assertEquals(1, heap.getSize());
+    }
+
+    @Test
+    public void testContainsAndRemove() {
+        heap.insert(0, 1.0);
+        heap.insert(5, 2.0);
+        heap.insert(9, 3.0);
+        assertTrue(heap.contains(5));
+        heap.remove(5);
+        assertFalse(heap.contains(5));
+        assertEquals(2, heap.getSize());
+        heap.remove(0);
+        assertEquals(9, heap.pop());
+        assertThrows(IllegalArgumentException.class, () -> heap.remove(5));
+    }
+
+    @Test
+    public void testTiesAreBrokenByLowerId() {
+        heap.insert(8, 2.0);
+        heap.insert(3, 2.0);
+        heap.insert(6, 2.0);
+        assertEquals(3, heap.pop());
+        assertEquals(6, heap.pop());
+        assertEquals(8, heap.pop());
+    }
+
+    @Test
+    public void testClearAndInvalidIds() {
+        heap.insert(2, 1.0);
+        heap.insert(4, 1.0);
+        heap.clear();
+        assertTrue(heap.isEmpty());
+        assertFalse(heap.contains(2));
+        heap.insert(2, 3.0);
+        assertThrows(IllegalArgumentException.class, () -> heap.insert(2, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> heap.insert(10, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> heap.contains(-1));
+    }
+
+    @Test
+    public void testPopEmptyHeap() {
+        assertThrows(IllegalStateException.class, () -> heap.pop());
+        assertThrows(IllegalStateException.class, () -> heap.peek());
+    }
+
+    @Test
+    public void testMatchesPriorityQueue() {
+        IndexedMinHeap large = new IndexedMinHeap(200);
+        double[] keys = new double[200];
+        Random random = new Random(5);
+        for (int id = 0; id < 200; id++) {
+            keys[id] = random.nextInt(1000);
+            large.insert(id, keys[id]);
+        }
+        for (int i = 0; i < 300; i++) {
+            int id = random.nextInt(200);
+            if (large.contains(id)) {
+                keys[id] = Math.max(0, keys[id] - random.nextInt(100));
+                large.decreaseKey(id, keys[id]);
+            }
+            if (i % 10 == 0) {
+                large.remove(random.nextInt(200) == id || !large.contains(id) ? large.peek() : id);
+            }
+        }
+        PriorityQueue<Integer> expected = new PriorityQueue<>((a, b) -> keys[a] != keys[b] ? Double.compare(keys[a], keys[b]) : Integer.compare(a, b));
+        for (int id : large.toArray()) {
+            expected.add(id);
+        }
+        while (!expected.isEmpty()) {
+            assertEquals((int) expected.poll(), large.pop());
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestGreatCircle {
+
+    @Test
+    void testDistanceInKilometres() {
+        assertEquals(0.0, GreatCircle.distance(52.0, 5.0, 52.0, 5.0));
+        // one degree of latitude is about 111.2 km
+        assertEquals(111.19, GreatCircle.distance(52.0, 5.0, 53.0, 5.0), 0.01);
+        assertEquals(GreatCircle.distance(10, 179.5, 10, -179.5), GreatCircle.distance(10, -0.5, 10, 0.5), 1e-9);
+
+        Station a = new Station(1, "A", "A", "NL", "station", 52.0, 5.0);
+        Station b = new Station(2, "B", "B", "NL", "station", 53.0, 5.0);
+        assertEquals(GreatCircle.distance(52.0, 5.0, 53.0, 5.0), GreatCircle.distance(a, b));
+        assertEquals(0.0, GreatCircle.distance(a, a));
+    }
+
+    @Test
+    void testHaversineTermGrowsWithTheDistance() {
+        double lat = Math.toRadians(52.0);
+        double cos = Math.cos(lat);
+        double previous = -1;
+        for (int degrees = 0; degrees <= 90; degrees += 10) {
+            double other = Math.toRadians(52.0 - degrees);
+            double term = GreatCircle.haversineTerm(lat, 0, cos, other, 0, Math.cos(other));
+            assertTrue(term > previous);
+            previous = term;
+            assertEquals(GreatCircle.haversine(lat, 0, cos, other, 0, Math.cos(other)),
+                    2 * GreatCircle.EARTH_RADIUS_KM * Math.asin(Math.sqrt(term)), 1e-9);
+        }
+    }
+}
@@ -109,6 +109,18 @@ public void testConstructorWithEmptyValues() {
         assertEquals(4.8951, station.getGeoLng());
     }
 
+    @Test
+    public void testUicIsKept() {
+        assertNull(new Station(1, "AMS", "Amsterdam", "NL", "train", 52.3701, 4.8951).getUic());
+        assertEquals("8400058", new Station(1, "ASD", " 8400058 ", "Amsterdam Centraal", "NL", "train", 52.3789, 4.9003).getUic());
+
+        for (Station station : readFromCSV("resources/stations.csv")) {
+            if (station.getCode().equals("HT")) {
+                assertEquals("8400319", station.getUic());
+            }
+        }
+    }
+
     @Test
 void testConstructorValidInput() {
     Station station = new Station(1, "code", "name", "NL", "type", 50.0, 5.0);
@@ -0,0 +1,90 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestStationRegistry {
+
+    private final Station amsterdam = new Station(1, "ASD", "8400058", "Amsterdam Centraal", "NL", "megastation", 52.3789, 4.9003);
+    private final Station rotterdam = new Station(2, "RTD", "8400530", "Rotterdam Centraal", "NL", "megastation", 51.9249, 4.4690);
+    private final Station utrecht = new Station(7, "UT", null, "Utrecht Centraal", "NL", "megastation", 52.0894, 5.1100);
+    private final StationRegistry registry = new StationRegistry(List.of(amsterdam, rotterdam, utrecht));
+
+    @Test
+    void testLookupByCodeIgnoresCaseAndSpaces() {
+        assertSame(amsterdam, registry.get("asd"));
+        assertSame(rotterdam, registry.get(" RTD "));
+        assertSame(utrecht, registry.get("Ut"));
+        assertNull(registry.get("HT"));
+        assertNull(registry.get(null));
+        assertTrue(registry.contains("rtd"));
+        assertFalse(registry.contains("ht"));
+    }
+
+    @Test
+    void testLookupByUicAndId() {
+        assertSame(rotterdam, registry.getByUic("8400530"));
+        assertSame(amsterdam, registry.getByUic(" 8400058"));
+        assertNull(registry.getByUic("8400319"));
+        assertNull(registry.getByUic(null));
+
+        assertSame(utrecht, registry.getById(7));
+        assertSame(amsterdam, registry.getById(1));
+        assertNull(registry.getById(3));
+    }
+
+    @Test
+    void testPositionsFollowTheGivenOrder() {
+        assertEquals(3, registry.size());
+        assertEquals(List.of(amsterdam, rotterdam, utrecht), registry.getStations());
+        assertEquals(1, registry.indexOf("rtd"));
+        assertEquals(-1, registry.indexOf("ht"));
+        assertSame(utrecht, registry.stationAt(2));
+        assertThrows(UnsupportedOperationException.class, () -> registry.getStations().clear());
+    }
+
+    @Test
+    void testGetAllKeepsTheOrderOfTheCodes() {
+        assertEquals(List.of(utrecht, amsterdam), registry.getAll("ut", "ASD"));
+        assertEquals(Arrays.asList(rotterdam, null, rotterdam), registry.getAll(List.of("RTD", "HT", "rtd")));
+        assertTrue(registry.getAll().isEmpty());
+    }
+
+    @Test
+    void testDuplicatesKeepTheFirstStation() {
+        Station sameCode = new Station(3, "asd", "8400001", "Amsterdam Duplicate", "NL", "station", 52.0, 5.0);
+        Station sameUic = new Station(4, "RTB", "8400530", "Rotterdam Duplicate", "NL", "station", 51.9, 4.5);
+        Station sameId = new Station(1, "XYZ", "8400002", "Duplicate Id", "NL", "station", 52.1, 5.1);
+        List<Station> stations = List.of(amsterdam, sameCode, rotterdam, sameUic, sameId);
+        StationRegistry duplicates = new StationRegistry(stations);
+
+        // the same station as the first match of a list (and of indexOf of the graphs)
+        assertSame(amsterdam, duplicates.get("ASD"));
+        assertEquals(stations.indexOf(amsterdam), duplicates.indexOf("asd"));
+        assertSame(rotterdam, duplicates.getByUic("8400530"));
+        assertSame(amsterdam, duplicates.getById(1));
+        assertSame(sameUic, duplicates.get("rtb"));
+        assertEquals(5, duplicates.size());
+    }
+
+    @Test
+    void testLoadedStations() {
+        StationRegistry loaded = new StationRegistry(Station.readFromCSV("resources/stations.csv"));
+
+        assertEquals(578, loaded.size());
+        Station denBosch = loaded.get("ht");
+        assertNotNull(denBosch);
+        assertSame(denBosch, loaded.getByUic("8400319"));
+        assertSame(denBosch, loaded.getById(266));
+        for (int i = 0; i < loaded.size(); i++) {
+            Station station = loaded.stationAt(i);
+            assertSame(station, loaded.get(station.getCode()));
+            assertSame(station, loaded.getByUic(station.getUic()));
+            assertSame(station, loaded.getById(station.getId()));
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package sorting;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestRadixSort {
+
+    @Test
+    public void testEmpty() {
+        assertEquals(0, RadixSort.sortedIndices(new int[0]).length);
+        assertEquals(0, RadixSort.sortedIndices(new long[0]).length);
+    }
+
+    @Test
+    public void testSmallInts() {
+        int[] keys = {5, 3, 9, 3, 0};
+        assertArrayEquals(new int[]{4, 1, 3, 0, 2}, RadixSort.sortedIndices(keys));
+    }
+
+    @Test
+    public void testStableForEqualKeys() {
+        int[] keys = {7, 7, 7, 1, 7};
+        assertArrayEquals(new int[]{3, 0, 1, 2, 4}, RadixSort.sortedIndices(keys));
+    }
+
+    @Test
+    public void testRandomIntsWithNegatives() {
+        Random random = new Random(1);
+        int[] keys = new int[1000];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = random.nextInt();
+        }
+        int[] order = RadixSort.sortedIndices(keys);
+        int[] expected = keys.clone();
+        Arrays.sort(expected);
+        for (int i = 0; i < keys.length; i++) {
+            assertEquals(expected[i], keys[order[i]]);
+        }
+    }
+
+    @Test
+    public void testRandomLongs() {
+        Random random = new Random(2);
+        long[] keys = new long[1000];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = random.nextLong();
+        }
+        int[] order = RadixSort.sortedIndices(keys);
+        for (int i = 1; i < keys.length; i++) {
+            assertTrue(keys[order[i - 1]] <= keys[order[i]]);
+        }
+    }
+
+    @Test
+    public void testDoublesThroughSortableKey() {
+        double[] values = {2.5, -1.0, 0.0, -0.5, 1e9, -1e9, 0.25, Double.POSITIVE_INFINITY};
+        long[] keys = new long[values.length];
+        for (int i = 0; i < values.length; i++) {
+            keys[i] = RadixSort.sortableKey(values[i]);
+        }
+        int[] order = RadixSort.sortedIndices(keys);
+        double[] expected = values.clone();
+        Arrays.sort(expected);
+        for (int i = 0; i < values.length; i++) {
+            assertEquals(expected[i], values[order[i]]);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package trees;
+
+import model.GreatCircle;
+import model.Station;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestKDTree {
+
+    private static Station station(int id, double lat, double lng) {
+        return new Station(id, "S" + id, "S" + id, "NL", "station", lat, lng);
+    }
+
+    @Test
+    public void testEmptyTree() {
+        KDTree tree = new KDTree(List.of());
+        assertTrue(tree.isEmpty());
+        assertTrue(tree.findWithinRectangle(0, 0, 90, 90).isEmpty());
+    }
+
+    @Test
+    public void testSmallTree() {
+        Station a = station(1, 52.0, 5.0);
+        Station b = station(2, 52.5, 6.0);
+        Station c = station(3, 51.0, 4.0);
+        Station d = station(4, 53.0, 7.0);
+        KDTree tree = new KDTree(List.of(a, b, c, d));
+
+        assertEquals(4, tree.size());
+        assertEquals(new HashSet<>(List.of(a, b)), new HashSet<>(tree.findWithinRectangle(51.5, 4.5, 52.6, 6.5)));
+        // the corners can be given in any order
+        assertEquals(new HashSet<>(List.of(a, b)), new HashSet<>(tree.findWithinRectangle(52.6, 6.5, 51.5, 4.5)));
+        // the borders are included
+        assertEquals(List.of(a), tree.findWithinRectangle(52.0, 5.0, 52.0, 5.0));
+        assertTrue(tree.findWithinRectangle(0, 0, 1, 1).isEmpty());
+    }
+
+    @Test
+    public void testSameAsLinearScan() {
+        Random random = new Random(9);
+        List<Station> stations = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            // rounded so many stations share a coordinate
+            stations.add(station(i + 1, 50 + random.nextInt(40) / 10.0, 3 + random.nextInt(40) / 10.0));
+        }
+        KDTree tree = new KDTree(stations);
+
+        for (int query = 0; query < 200; query++) {
+            double lat1 = 50 + random.nextDouble() * 4;
+            double lat2 = 50 + random.nextDouble() * 4;
+            double lon1 = 3 + random.nextDouble() * 4;
+            double lon2 = 3 + random.nextDouble() * 4;
+
+            List<Station> expected = new ArrayList<>();
+            for (Station station : stations) {
+                if (station.getGeoLat() >= Math.min(lat1, lat2) && station.getGeoLat() <= Math.max(lat1, lat2)
+                        && station.getGeoLng() >= Math.min(lon1, lon2) && station.getGeoLng() <= Math.max(lon1, lon2)) {
+                    expected.add(station);
+                }
+            }
+            List<Station> found = tree.findWithinRectangle(lat1, lon1, lat2, lon2);
+            assertEquals(expected.size(), found.size());
+            assertEquals(new HashSet<>(expected), new HashSet<>(found));
+        }
+    }
+
+    @Test
+    public void testNearestSmallTree() {
+        Station a = station(1, 52.0, 5.0);
+        Station b = station(2, 52.5, 6.0);
+        Station c = station(3, 51.0, 4.0);
+        Station d = station(4, 53.0, 7.0);
+        KDTree tree = new KDTree(List.of(a, b, c, d));
+
+        assertEquals(List.of(a), tree.findNearest(52.1, 5.1, 1));
+        assertEquals(List.of(d, b, a), tree.findNearest(52.8, 6.6, 3));
+        // more than there are gives all of them
+        assertEquals(4, tree.findNearest(0, 0, 10).size());
+        assertEquals(List.of(b, d), tree.findNearest(52.1, 5.1, 2, station -> station.getId() % 2 == 0));
+        assertTrue(new KDTree(List.of()).findNearest(52, 5, 3).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> tree.findNearest(52, 5, 0));
+    }
+
+    @Test
+    public void testNearestSameAsSortingAll() {
+        Random random = new Random(11);
+        for (int round = 0; round < 20; round++) {
+            boolean world = round % 2 == 0;
+            List<Station> stations = new ArrayList<>();
+            for (int i = 0; i < 300; i++) {
+                // all over the world (poles and date line included) or rounded so many share a coordinate
+                double lat = world ? random.nextDouble() * 180 - 90 : 50 + random.nextInt(40) / 10.0;
+                double lng = world ? random.nextDouble() * 360 - 180 : 3 + random.nextInt(40) / 10.0;
+                stations.add(station(i + 1, lat, lng));
+            }
+            KDTree tree = new KDTree(stations);
+
+            for (int query = 0; query < 30; query++) {
+                double lat = world ? random.nextDouble() * 180 - 90 : 49 + random.nextDouble() * 6;
+                double lng = world ? random.nextDouble() * 360 - 180 : 2 + random.nextDouble() * 6;
+                int k = 1 + random.nextInt(10);
+                boolean filtered = query % 2 == 0;
+
+                List<Double> expected = new ArrayList<>();
+                for (Station station : stations) {
+                    if (!filtered || station.getId() % 3 == 0) {
+                        expected.add(GreatCircle.distance(lat, lng, station.getGeoLat(), station.getGeoLng()));
+                    }
+                }
+                expected.sort(Comparator.naturalOrder());
+
+                List<Double> found = new ArrayList<>();
+                for (Station station : tree.findNearest(lat, lng, k, filtered ? s -> s.getId() % 3 == 0 : null)) {
+                    found.add(GreatCircle.distance(lat, lng, station.getGeoLat(), station.getGeoLng()));
+                }
+                // compared by distance, stations at the same distance can come in any order
+                assertEquals(expected.subList(0, k), found);
+            }
+        }
+    }
+}
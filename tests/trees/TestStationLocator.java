@@ -0,0 +1,63 @@
+package trees;
+
+import model.GreatCircle;
+import model.Station;
+import model.StationRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestStationLocator {
+
+    private final Station amsterdam = new Station(1, "ASD", "Amsterdam Centraal", "NL", "megastation", 52.3789, 4.9003);
+    private final Station sloterdijk = new Station(2, "ASS", "Amsterdam Sloterdijk", "NL", "knooppuntIntercitystation", 52.3889, 4.8378);
+    private final Station zaandam = new Station(3, "ZD", "Zaandam", "NL", "intercitystation", 52.4389, 4.8136);
+    private final Station emmerich = new Station(4, "EM", "Emmerich", "D", "intercitystation", 51.8386, 6.6147);
+    private final Station arnhem = new Station(5, "AH", "Arnhem Centraal", "NL", "megastation", 51.9850, 5.8987);
+    private final StationLocator locator = new StationLocator(List.of(amsterdam, sloterdijk, zaandam, emmerich, arnhem));
+
+    @Test
+    public void testNearest() {
+        assertEquals(List.of(amsterdam, sloterdijk), locator.findNearest(52.37, 4.89, 2));
+        assertEquals(5, locator.findNearest(52.37, 4.89, 8).size());
+        assertThrows(IllegalArgumentException.class, () -> locator.findNearest(52.37, 4.89, 0));
+    }
+
+    @Test
+    public void testFilterByTypeAndCountry() {
+        assertEquals(List.of(amsterdam, arnhem), locator.findNearestOfType(52.39, 4.84, 5, "MEGASTATION"));
+        assertEquals(List.of(zaandam, emmerich), locator.findNearestOfType(52.39, 4.84, 2, " intercitystation"));
+        assertEquals(List.of(emmerich), locator.findNearestInCountry(52.39, 4.84, 3, "d"));
+        assertEquals(List.of(emmerich), locator.findNearest(52.39, 4.84, 3, "intercitystation", "D"));
+        assertEquals(List.of(zaandam), locator.findNearest(52.39, 4.84, 3, "intercitystation", "NL"));
+        assertEquals(List.of(arnhem, amsterdam), locator.findNearest(51.9, 6.1, 2, "megastation", "NL"));
+        assertTrue(locator.findNearestOfType(52.39, 4.84, 3, "bus stop").isEmpty());
+        assertTrue(locator.findNearest(52.39, 4.84, 3, "megastation", "B").isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> locator.findNearestOfType(52.39, 4.84, 0, "bus stop"));
+    }
+
+    @Test
+    public void testLoadedStations() {
+        StationRegistry registry = new StationRegistry(Station.readFromCSV("resources/stations.csv"));
+        StationLocator loaded = new StationLocator(registry);
+        double lat = 52.09;
+        double lng = 5.11;
+
+        List<Station> expected = new ArrayList<>();
+        for (Station station : registry.getStations()) {
+            if (station.getType().equals("knooppuntIntercitystation") && station.getCountry().equals("NL")) {
+                expected.add(station);
+            }
+        }
+        expected.sort(Comparator.comparingDouble(
+                station -> GreatCircle.distance(lat, lng, station.getGeoLat(), station.getGeoLng())));
+
+        assertEquals(expected.subList(0, 5), loaded.findNearest(lat, lng, 5, "knooppuntIntercitystation", "NL"));
+        assertEquals(expected.subList(0, 5), loaded.findNearestOfType(lat, lng, 5, "knooppuntIntercitystation"));
+        assertEquals(registry.get("ut"), loaded.findNearest(lat, lng, 1).get(0));
+    }
+}